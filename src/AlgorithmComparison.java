@@ -0,0 +1,60 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Runs several scheduling algorithms in parallel on one frozen ProcessTable and compares their metrics.
+// Schedulers only read the table and keep their state in their own ScheduleResult,
+// so the total time is close to that of the slowest algorithm.
+public class AlgorithmComparison {
+    private AlgorithmComparison() {
+    }
+
+    // Runs every algorithm in Algorithms.NAMES on the common pool
+    public static List<ScheduleResult> runAll(ProcessTable processes, int timeQuantum) {
+        List<Scheduler> schedulers = new ArrayList<>();
+        for (String name : Algorithms.NAMES) {
+            schedulers.add(Algorithms.create(name, timeQuantum));
+        }
+        return run(processes, schedulers, ForkJoinPool.commonPool());
+    }
+
+    // Runs every scheduler on the table concurrently and returns the results in the same order
+    public static List<ScheduleResult> run(ProcessTable processes, List<Scheduler> schedulers, ForkJoinPool pool) {
+        ProcessTable frozen = processes.freeze();
+        List<Callable<ScheduleResult>> runs = new ArrayList<>();
+        for (Scheduler scheduler : schedulers) {
+            runs.add(() -> scheduler.schedule(frozen));
+        }
+
+        List<ScheduleResult> results = new ArrayList<>();
+        for (Future<ScheduleResult> future : pool.invokeAll(runs)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while comparing algorithms", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scheduler failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return results;
+    }
+
+    // Prints one line of metrics per algorithm
+    public static void print(List<ScheduleResult> results, PrintStream out) {
+        out.printf("%-26s %-14s %-14s %-14s %-14s %-10s %-12s %-10s %s%n", "Algorithm", "Avg Waiting",
+                "Avg Turnaround", "P99 Turnaround", "Avg Response", "CPU Util", "Throughput", "Switches",
+                "End Time");
+        for (ScheduleResult r : results) {
+            out.printf("%-26s %-14.2f %-14.2f %-14d %-14.2f %-10s %-12.4f %-10d %d%n", r.getAlgorithm(),
+                    r.getAverageWaitingTime(), r.getAverageTurnaroundTime(), r.getTurnaroundTimes().percentile(99),
+                    r.getAverageResponseTime(),
+                    String.format("%.2f%%", r.getCpuUtilization()), r.getThroughput(),
+                    r.getContextSwitches(), r.getEndTime());
+        }
+    }
+}
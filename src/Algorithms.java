@@ -0,0 +1,46 @@
+import java.util.List;
+
+// Looks up the scheduling algorithms by the short names used on the command line and in reports
+public class Algorithms {
+    // Every algorithm name, in menu order
+    public static final List<String> NAMES = List.of("fcfs", "sjf", "srtf", "npp", "pp", "rr", "mlfq");
+
+    private Algorithms() {
+    }
+
+    // Creates the named scheduler; timeQuantum is only used by Round Robin and as the top-level quantum of MLFQ
+    public static Scheduler create(String name, int timeQuantum) {
+        return create(name, timeQuantum, 0, 0);
+    }
+
+    // Creates the named scheduler with context switch costs. The preemptive algorithms charge
+    // switchCost whenever the CPU changes process; Round Robin also charges resumeCost when a process
+    // follows itself after its quantum. The non-preemptive algorithms and MLFQ ignore both costs.
+    public static Scheduler create(String name, int timeQuantum, int switchCost, int resumeCost) {
+        return create(name, timeQuantum, switchCost, resumeCost, 0);
+    }
+
+    // Same as above, with priority aging: the priority schedulers improve a waiting process by one
+    // level per agingInterval it has waited; 0 turns aging off and the other algorithms ignore it
+    public static Scheduler create(String name, int timeQuantum, int switchCost, int resumeCost,
+                                   int agingInterval) {
+        switch (name.toLowerCase()) {
+            case "fcfs":
+                return new FCFSClass();
+            case "sjf":
+                return new SJFClass();
+            case "srtf":
+                return new SRTFClass(switchCost);
+            case "npp":
+                return new NonPreemptivePriorityClass(agingInterval);
+            case "pp":
+                return new PreemptivePriorityClass(switchCost, agingInterval);
+            case "rr":
+                return new RoundRobinClass(timeQuantum, switchCost, resumeCost);
+            case "mlfq":
+                return new MLFQClass(timeQuantum);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm '" + name + "', expected one of " + NAMES);
+        }
+    }
+}
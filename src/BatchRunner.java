@@ -0,0 +1,208 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+// Non-interactive mode of Scheduling: runs every algorithm on every workload in one JVM and writes
+// a machine-readable summary, one row per (workload, algorithm, quantum).
+//
+// Usage: java Scheduling --workloads trace.csv,trace.bin,uniform:100000 [--algorithms fcfs,rr,mlfq]
+//                        [--quanta 2,4,8] [--switch-cost 0] [--resume-cost 0] [--aging 0]
+//                        [--format csv|json] [--output summary.csv] [--cache-dir dir] [--cache-mb 256]
+//
+// A workload is a trace file read by TraceLoader, or pattern:size for a workload generated like
+// SchedulerBenchmark does (seed 42). Round Robin and MLFQ run once per quantum, the other
+// algorithms once per workload. Each workload is loaded once, frozen, and all of its runs are
+// simulated in parallel. The summary goes to standard output unless --output is given; the format
+// defaults to JSON for a .json output file and to CSV otherwise.
+//
+// Runs go through a ResultCache, so a workload listed twice is only simulated once. With
+// --cache-dir the results are also kept on disk and later batches reuse them.
+public class BatchRunner {
+    // Summary columns, in output order
+    private static final String[] COLUMNS = {"workload", "algorithm", "quantum", "processes",
+            "avg_waiting", "avg_turnaround", "avg_response", "p50_waiting", "p99_waiting", "p99_turnaround",
+            "cpu_utilization", "throughput", "context_switches", "switch_time", "end_time"};
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> workloads = new ArrayList<>();
+        List<String> algorithms = Algorithms.NAMES;
+        String quanta = "4", format = null, output = null, cacheDirectory = null;
+        long cacheMegabytes = 256;
+        int switchCost = 0, resumeCost = 0, agingInterval = 0;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--workloads": workloads.addAll(List.of(value.split(","))); break;
+                case "--algorithms": algorithms = List.of(value.split(",")); break;
+                case "--quanta": quanta = value; break;
+                case "--switch-cost": switchCost = Integer.parseInt(value); break;
+                case "--resume-cost": resumeCost = Integer.parseInt(value); break;
+                case "--aging": agingInterval = Integer.parseInt(value); break;
+                case "--format": format = value.toLowerCase(); break;
+                case "--output": output = value; break;
+                case "--cache-dir": cacheDirectory = value; break;
+                case "--cache-mb": cacheMegabytes = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (workloads.isEmpty()) {
+            throw new IllegalArgumentException("No workloads given, use --workloads file,pattern:size,...");
+        }
+        if (format == null) {
+            format = output != null && output.toLowerCase().endsWith(".json") ? "json" : "csv";
+        }
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Unknown format '" + format + "', expected csv or json");
+        }
+        for (String quantum : quanta.split(",")) {
+            if (Integer.parseInt(quantum) <= 0) {
+                throw new IllegalArgumentException("Time quanta must be positive: " + quantum);
+            }
+        }
+
+        ResultCache cache = new ResultCache(cacheMegabytes << 20,
+                cacheDirectory == null ? null : Path.of(cacheDirectory));
+
+        // Every run of the matrix, built once and reused for each workload
+        List<Scheduler> schedulers = new ArrayList<>();
+        List<Integer> runQuanta = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            boolean usesQuantum = algorithm.equalsIgnoreCase("rr") || algorithm.equalsIgnoreCase("mlfq");
+            for (String quantum : usesQuantum ? quanta.split(",") : new String[] {"0"}) {
+                int q = Integer.parseInt(quantum);
+                Scheduler scheduler = Algorithms.create(algorithm, q, switchCost, resumeCost, agingInterval);
+                schedulers.add(cache.cached(scheduler));
+                runQuanta.add(usesQuantum ? q : null);
+            }
+        }
+
+        Writer out = new BufferedWriter(output == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8));
+        try {
+            boolean json = format.equals("json");
+            boolean firstRow = true;
+            out.write(json ? "[\n" : String.join(",", COLUMNS) + "\n");
+            for (String workload : workloads) {
+                // Results of one workload are written and dropped before the next one is loaded
+                ProcessTable processes = load(workload);
+                List<ScheduleResult> results = AlgorithmComparison.run(processes, schedulers,
+                        ForkJoinPool.commonPool());
+                for (int i = 0; i < results.size(); i++) {
+                    Object[] row = row(workload, runQuanta.get(i), results.get(i));
+                    if (json) {
+                        out.write(firstRow ? "" : ",\n");
+                        writeJson(out, row);
+                    } else {
+                        writeCsv(out, row);
+                    }
+                    firstRow = false;
+                }
+                out.flush();
+            }
+            out.write(json ? (firstRow ? "]\n" : "\n]\n") : "");
+        } finally {
+            if (output == null) {
+                out.flush();
+            } else {
+                out.close();
+            }
+        }
+    }
+
+    // Loads a trace file, or generates a workload for a pattern:size argument
+    public static ProcessTable load(String workload) throws IOException {
+        Path path = Path.of(workload);
+        int colon = workload.lastIndexOf(':');
+        if (Files.exists(path) || colon == -1) {
+            return TraceLoader.load(path);
+        }
+        return SchedulerBenchmark.generate(workload.substring(0, colon),
+                Integer.parseInt(workload.substring(colon + 1)), 42);
+    }
+
+    // Values of one summary row, in the order of COLUMNS
+    private static Object[] row(String workload, Integer quantum, ScheduleResult r) {
+        return new Object[] {workload, r.getAlgorithm(), quantum, r.size(),
+                r.getAverageWaitingTime(), r.getAverageTurnaroundTime(), r.getAverageResponseTime(),
+                r.getWaitingTimes().percentile(50), r.getWaitingTimes().percentile(99),
+                r.getTurnaroundTimes().percentile(99), r.getCpuUtilization(), r.getThroughput(),
+                r.getContextSwitches(), r.getSwitchTime(), r.getEndTime()};
+    }
+
+    // Writes a row as CSV, quoting text that contains a comma or a quote
+    private static void writeCsv(Writer out, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = finiteOrNull(row[i]);
+            if (value instanceof String) {
+                String text = (String) value;
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0) {
+                    text = '"' + text.replace("\"", "\"\"") + '"';
+                }
+                out.write(text);
+            } else if (value != null) {
+                out.write(format(value));
+            }
+        }
+        out.write('\n');
+    }
+
+    // Writes a row as a JSON object with one field per column
+    private static void writeJson(Writer out, Object[] row) throws IOException {
+        out.write("  {");
+        for (int i = 0; i < row.length; i++) {
+            out.write(i == 0 ? "\"" : ", \"");
+            out.write(COLUMNS[i]);
+            out.write("\": ");
+            Object value = finiteOrNull(row[i]);
+            if (value instanceof String) {
+                String text = (String) value;
+                out.write('"');
+                for (int c = 0; c < text.length(); c++) {
+                    char ch = text.charAt(c);
+                    if (ch == '"' || ch == '\\') {
+                        out.write('\\');
+                        out.write(ch);
+                    } else if (ch < 0x20) {
+                        out.write(String.format("\\u%04x", (int) ch));
+                    } else {
+                        out.write(ch);
+                    }
+                }
+                out.write('"');
+            } else {
+                out.write(value == null ? "null" : format(value));
+            }
+        }
+        out.write('}');
+    }
+
+    // NaN and infinite numbers, e.g. the averages of an empty workload, become missing values:
+    // an empty CSV field or a JSON null, since JSON has no NaN
+    private static Object finiteOrNull(Object value) {
+        return value instanceof Double && !Double.isFinite((Double) value) ? null : value;
+    }
+
+    // Numbers with a fixed number of decimals, so summaries of identical runs compare equal
+    private static String format(Object value) {
+        return value instanceof Double ? String.format(Locale.ROOT, "%.4f", (Double) value) : value.toString();
+    }
+}
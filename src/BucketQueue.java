@@ -0,0 +1,64 @@
+import java.util.Arrays;
+
+// Bucket (radix) priority queue for small integer priorities.
+// Each priority has its own FIFO bucket, chained through an int array, and a bitmap
+// marks the non-empty buckets, so add() and poll() never allocate.
+public class BucketQueue implements ReadyQueue {
+    private final int[] head;      // First process index in each priority bucket, -1 if empty
+    private final int[] tail;      // Last process index in each priority bucket
+    private final int[] next;      // Next process index in the same bucket, -1 at the end
+    private final long[] nonEmpty; // Bit p is set when bucket p holds at least one process
+    private int size;              // Number of queued processes
+
+    // Creates a queue for priorities 0 .. maxPriority and process indices 0 .. capacity - 1
+    public BucketQueue(int maxPriority, int capacity) {
+        this.head = new int[maxPriority + 1];
+        this.tail = new int[maxPriority + 1];
+        this.next = new int[capacity];
+        this.nonEmpty = new long[(maxPriority >>> 6) + 1];
+        Arrays.fill(head, -1);
+    }
+
+    // Appends a process index to the bucket of its priority
+    @Override
+    public void add(int index, long priority) {
+        int p = (int) priority;
+        next[index] = -1;
+        if (head[p] == -1) {
+            head[p] = index;
+            nonEmpty[p >>> 6] |= 1L << p;
+        } else {
+            next[tail[p]] = index;
+        }
+        tail[p] = index;
+        size++;
+    }
+
+    // Removes the oldest process index from the lowest non-empty priority bucket
+    @Override
+    public int poll() {
+        int word = 0;
+        while (nonEmpty[word] == 0) {
+            word++;
+        }
+        int p = (word << 6) + Long.numberOfTrailingZeros(nonEmpty[word]);
+
+        int index = head[p];
+        head[p] = next[index];
+        if (head[p] == -1) {
+            nonEmpty[word] &= ~(1L << p);
+        }
+        size--;
+        return index;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,57 @@
+// A process that finished in an online simulation, with the times it was scheduled at
+public class CompletedJob {
+    private final long jobID;          // ID assigned when the process was submitted
+    private final int priority;        // Priority it was submitted with
+    private final long arrivalTime;    // Time it arrived in the system
+    private final int burstTime;       // CPU time it needed
+    private final long startTime;      // Time it first ran
+    private final long completionTime; // Time it finished
+
+    public CompletedJob(long jobID, int priority, long arrivalTime, int burstTime, long startTime, long completionTime) {
+        this.jobID = jobID;
+        this.priority = priority;
+        this.arrivalTime = arrivalTime;
+        this.burstTime = burstTime;
+        this.startTime = startTime;
+        this.completionTime = completionTime;
+    }
+
+    public long getJobID() {
+        return jobID;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public int getBurstTime() {
+        return burstTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getCompletionTime() {
+        return completionTime;
+    }
+
+    // Time from arrival to completion
+    public long getTurnaroundTime() {
+        return completionTime - arrivalTime;
+    }
+
+    // Time spent in the ready queue (turnaround time minus burst time)
+    public long getWaitingTime() {
+        return getTurnaroundTime() - burstTime;
+    }
+
+    // Time from arrival until the process first ran
+    public long getResponseTime() {
+        return startTime - arrivalTime;
+    }
+}
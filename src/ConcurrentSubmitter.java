@@ -0,0 +1,188 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Thread-safe front-end of an OnlineScheduler: any number of producer threads submit processes,
+// and a single scheduling thread moves them into the scheduler in batches.
+//
+// Producers never take a lock. Job IDs come from an AtomicLong, and submissions are appended to
+// a linked multi-producer single-consumer queue with one atomic swap of its tail (Vyukov's
+// intrusive MPSC queue). The scheduling thread calls drain() or advanceTo(); it sorts each batch
+// by arrival time before handing it to the scheduler. A submission that arrives earlier than one
+// already handed over (or than the scheduler's current time) is moved to that later time, since
+// the scheduler only accepts arrivals in order; delayed() counts them. The scheduler only sees the
+// moved time, so the waiting, turnaround and response times of a delayed process, and the arrival
+// time of its CompletedJob, are measured from when it was handed over, not from when it asked to arrive.
+public class ConcurrentSubmitter {
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int BATCH_SIZE = 4096; // Submissions moved per batch by advanceTo
+
+    private final OnlineScheduler scheduler;
+    private final AtomicLong nextJobID = new AtomicLong();
+    private final AtomicReference<Node> tail;  // Last submission, swapped in by producers
+    private Node head;                         // Last submission taken by the scheduling thread
+
+    // Batch buffers of the scheduling thread
+    private long[] batchID = new long[BATCH_SIZE];
+    private int[] batchPriority = new int[BATCH_SIZE];
+    private long[] batchArrival = new long[BATCH_SIZE];
+    private int[] batchBurst = new int[BATCH_SIZE];
+    private long[] sortKeys = new long[BATCH_SIZE];
+    private int[] order = new int[BATCH_SIZE];  // Batch positions in arrival order
+
+    private long lastArrival;  // Latest arrival handed to the scheduler
+    private long delayed;      // Submissions moved to a later arrival time
+
+    public ConcurrentSubmitter(OnlineScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.head = new Node(0, 0, 0, 0);
+        this.tail = new AtomicReference<>(head);
+        this.lastArrival = scheduler.currentTime();
+    }
+
+    // Submits a process from any thread and returns its job ID; IDs follow the order of the calls
+    public long submit(int priority, long arrivalTime, int burstTime) {
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Burst time must be positive: " + burstTime);
+        }
+        long jobID = nextJobID.getAndIncrement();
+        Node node = new Node(jobID, priority, arrivalTime, burstTime);
+        Node previous = tail.getAndSet(node);
+        NEXT.setRelease(previous, node);
+        return jobID;
+    }
+
+    // Submits a process without a priority
+    public long submit(long arrivalTime, int burstTime) {
+        return submit(0, arrivalTime, burstTime);
+    }
+
+    // Scheduling thread only: moves up to maxBatch submissions into the scheduler, in arrival
+    // order, and returns how many were moved
+    public int drain(int maxBatch) {
+        if (maxBatch > batchID.length) {
+            batchID = Arrays.copyOf(batchID, maxBatch);
+            batchPriority = Arrays.copyOf(batchPriority, maxBatch);
+            batchArrival = Arrays.copyOf(batchArrival, maxBatch);
+            batchBurst = Arrays.copyOf(batchBurst, maxBatch);
+            sortKeys = Arrays.copyOf(sortKeys, maxBatch);
+            order = new int[maxBatch];
+        }
+
+        // Take submissions until the batch is full or the queue looks empty. A producer that has
+        // swapped the tail but not linked its node yet is picked up by the next drain.
+        int count = 0;
+        while (count < maxBatch) {
+            Node next = (Node) NEXT.getAcquire(head);
+            if (next == null) {
+                break;
+            }
+            head = next;
+            batchID[count] = next.jobID;
+            batchPriority[count] = next.priority;
+            batchArrival[count] = next.arrivalTime;
+            batchBurst[count] = next.burstTime;
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        sortByArrival(count);
+        long floor = Math.max(lastArrival, scheduler.currentTime());
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            long arrivalTime = batchArrival[i];
+            if (arrivalTime < floor) {
+                arrivalTime = floor;
+                delayed++;
+            }
+            scheduler.submit(batchID[i], batchPriority[i], arrivalTime, batchBurst[i]);
+            floor = arrivalTime;
+        }
+        lastArrival = floor;
+        return count;
+    }
+
+    // Scheduling thread only: moves every waiting submission into the scheduler,
+    // then simulates up to the given time
+    public void advanceTo(long time) {
+        int moved;
+        do {
+            moved = drain(BATCH_SIZE);
+        } while (moved == BATCH_SIZE);
+        scheduler.advanceTo(time);
+    }
+
+    public OnlineScheduler scheduler() {
+        return scheduler;
+    }
+
+    // Job IDs handed out so far
+    public long submitted() {
+        return nextJobID.get();
+    }
+
+    // Submissions moved to a later arrival time to keep arrivals in order
+    public long delayed() {
+        return delayed;
+    }
+
+    // Fills the first count entries of order with the positions of the batch sorted by arrival time,
+    // ties in submission order. Arrivals are packed with their position into one long when their
+    // spread fits, so the sort needs no objects.
+    private void sortByArrival(int count) {
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, batchArrival[i]);
+            max = Math.max(max, batchArrival[i]);
+        }
+        int positionBits = 32 - Integer.numberOfLeadingZeros(count);
+        if (max - min >= 0 && max - min < (1L << (63 - positionBits))) {
+            for (int i = 0; i < count; i++) {
+                sortKeys[i] = ((batchArrival[i] - min) << positionBits) | i;
+            }
+            Arrays.sort(sortKeys, 0, count);
+            for (int i = 0; i < count; i++) {
+                order[i] = (int) (sortKeys[i] & ((1L << positionBits) - 1));
+            }
+            return;
+        }
+        Integer[] boxed = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, Comparator.comparingLong(i -> batchArrival[i]));
+        for (int i = 0; i < count; i++) {
+            order[i] = boxed[i];
+        }
+    }
+
+    // One submission in the queue
+    private static final class Node {
+        final long jobID;
+        final int priority;
+        final long arrivalTime;
+        final int burstTime;
+        Node next; // Set through NEXT by the producer of the following node
+
+        Node(long jobID, int priority, long arrivalTime, int burstTime) {
+            this.jobID = jobID;
+            this.priority = priority;
+            this.arrivalTime = arrivalTime;
+            this.burstTime = burstTime;
+        }
+    }
+}
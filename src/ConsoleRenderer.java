@@ -0,0 +1,31 @@
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+
+// Prints schedule results to a PrintStream such as System.out, in the StreamingRenderer format
+public class ConsoleRenderer {
+    private final PrintStream out;
+
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    // Displays the process table, computed metrics and Gantt chart of a result
+    public void render(ScheduleResult result) {
+        try {
+            new StreamingRenderer(new OutputStreamWriter(out)).render(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Displays the metrics of a multi-core result and one Gantt chart per core
+    public void render(MultiCoreResult result) {
+        try {
+            new StreamingRenderer(new OutputStreamWriter(out)).render(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Reports how an algorithm scales with the number of cores.
+//
+// Usage: java CoreScaling [--trace file | --pattern zero --size 100000] [--algorithm rr] [--quantum 4]
+//                         [--mode global|per-core|stealing] [--cores 1,4,8,16,32,64,128] [--timeline]
+//
+// Every core count is simulated in parallel on the same frozen ProcessTable. Speedup is the
+// single-core makespan divided by the makespan on n cores, and efficiency is speedup per core.
+public class CoreScaling {
+    private CoreScaling() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String trace = null, pattern = "zero", algorithm = "rr", mode = "stealing";
+        int size = 100_000, timeQuantum = 4;
+        String cores = "1,4,8,16,32,64,128";
+        boolean showTimeline = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--timeline")) {
+                showTimeline = true;
+                continue;
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--trace": trace = value; break;
+                case "--pattern": pattern = value; break;
+                case "--size": size = Integer.parseInt(value); break;
+                case "--algorithm": algorithm = value; break;
+                case "--quantum": timeQuantum = Integer.parseInt(value); break;
+                case "--mode": mode = value; break;
+                case "--cores": cores = value; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+            }
+        }
+
+        ProcessTable processes = trace != null
+                ? TraceLoader.load(Path.of(trace))
+                : SchedulerBenchmark.generate(pattern, size, 42);
+        String[] counts = cores.split(",");
+        List<MultiCoreScheduler> schedulers = new ArrayList<>();
+        for (String count : counts) {
+            schedulers.add(MultiCoreScheduler.create(algorithm, timeQuantum, Integer.parseInt(count), parseMode(mode)));
+        }
+
+        List<MultiCoreResult> results = run(processes, schedulers, ForkJoinPool.commonPool());
+
+        // Every mode behaves the same on one core, so a requested single-core run doubles as the baseline
+        MultiCoreResult baseline = null;
+        for (MultiCoreResult result : results) {
+            if (result.getCores() == 1) {
+                baseline = result;
+            }
+        }
+        if (baseline == null) {
+            baseline = MultiCoreScheduler.create(algorithm, timeQuantum, 1, MultiCoreScheduler.Mode.GLOBAL)
+                    .schedule(processes);
+        }
+        print(results, baseline, System.out);
+        if (showTimeline) {
+            ConsoleRenderer renderer = new ConsoleRenderer(System.out);
+            for (MultiCoreResult result : results) {
+                renderer.render(result);
+            }
+        }
+    }
+
+    // Accepts the mode names used on the command line
+    public static MultiCoreScheduler.Mode parseMode(String mode) {
+        switch (mode.toLowerCase()) {
+            case "global":
+                return MultiCoreScheduler.Mode.GLOBAL;
+            case "per-core":
+                return MultiCoreScheduler.Mode.PER_CORE;
+            case "stealing":
+                return MultiCoreScheduler.Mode.WORK_STEALING;
+            default:
+                throw new IllegalArgumentException("Unknown mode '" + mode + "', expected global, per-core or stealing");
+        }
+    }
+
+    // Runs every scheduler on the table concurrently and returns the results in the same order
+    public static List<MultiCoreResult> run(ProcessTable processes, List<MultiCoreScheduler> schedulers,
+                                            ForkJoinPool pool) {
+        ProcessTable frozen = processes.freeze();
+        List<Callable<MultiCoreResult>> runs = new ArrayList<>();
+        for (MultiCoreScheduler scheduler : schedulers) {
+            runs.add(() -> scheduler.schedule(frozen));
+        }
+
+        List<MultiCoreResult> results = new ArrayList<>();
+        for (Future<MultiCoreResult> future : pool.invokeAll(runs)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating cores", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Simulation failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return results;
+    }
+
+    // Prints one line per core count, with speedup measured against the single-core baseline
+    public static void print(List<MultiCoreResult> results, MultiCoreResult baseline, PrintStream out) {
+        out.printf("%-6s %-12s %-9s %-11s %-10s %-10s %-14s %-16s %-16s %-11s %s%n", "Cores", "End Time",
+                "Speedup", "Efficiency", "CPU Util", "Imbalance", "Avg Waiting", "Avg Turnaround",
+                "P99 Turnaround", "Migrations", "Steals");
+        for (MultiCoreResult r : results) {
+            double speedup = r.getEndTime() == 0 ? 1 : (double) baseline.getEndTime() / r.getEndTime();
+            out.printf("%-6d %-12d %-9.2f %-11s %-10s %-10.3f %-14.2f %-16.2f %-16d %-11d %d%n", r.getCores(),
+                    r.getEndTime(), speedup, String.format("%.1f%%", speedup / r.getCores() * 100),
+                    String.format("%.2f%%", r.getCpuUtilization()), r.getLoadImbalance(),
+                    r.getAverageWaitingTime(), r.getAverageTurnaroundTime(), r.getTurnaroundTimes().percentile(99),
+                    r.getMigrations(), r.getSteals());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+// Indexed binary min-heap of process indices, ordered by a key and then by tieBreaker(),
+// which is the index itself unless a subclass orders equal keys differently
+public class IndexHeap implements ReadyQueue {
+    private int[] heap;     // Process indices laid out in heap order
+    private int[] position; // Slot of each process index in the heap, -1 if absent
+    private long[] keys;    // Key of each process index (e.g. remaining time)
+    private int size;       // Number of indices currently in the heap
+
+    // Creates a heap able to hold the indices 0 .. capacity - 1
+    public IndexHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    // Grows the heap so it can hold the indices 0 .. capacity - 1
+    public void ensureCapacity(int capacity) {
+        int oldCapacity = heap.length;
+        if (capacity <= oldCapacity) {
+            return;
+        }
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        position = Arrays.copyOf(position, capacity);
+        Arrays.fill(position, oldCapacity, capacity, -1);
+    }
+
+    // Inserts a process index with the given key
+    @Override
+    public void add(int index, long key) {
+        keys[index] = key;
+        heap[size] = index;
+        position[index] = size;
+        siftUp(size++);
+    }
+
+    // Returns true if the process index is currently in the heap
+    public boolean contains(int index) {
+        return position[index] != -1;
+    }
+
+    // Returns the key the process index was inserted with
+    public long keyOf(int index) {
+        return keys[index];
+    }
+
+    // Changes the key of a process index that is in the heap and restores heap order
+    public void changeKey(int index, long key) {
+        int slot = position[index];
+        keys[index] = key;
+        siftUp(slot);
+        siftDown(position[index]);
+    }
+
+    // Removes an arbitrary process index from the heap
+    public void remove(int index) {
+        int slot = position[index];
+        position[index] = -1;
+        if (slot == --size) {
+            return;
+        }
+        int moved = heap[size];
+        heap[slot] = moved;
+        position[moved] = slot;
+        siftUp(slot);
+        siftDown(position[moved]);
+    }
+
+    // Returns the index with the smallest key without removing it
+    public int peek() {
+        return heap[0];
+    }
+
+    // Returns the smallest key in the heap
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    // Removes and returns the index with the smallest key
+    @Override
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        heap[0] = heap[--size];
+        if (size > 0) {
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Orders two process indices by key, breaking ties with the smaller tieBreaker()
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && tieBreaker(a) < tieBreaker(b));
+    }
+
+    // Secondary order of process indices with equal keys
+    protected long tieBreaker(int index) {
+        return index;
+    }
+
+    // Moves the entry at the given slot up until its parent is smaller
+    private void siftUp(int slot) {
+        int index = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!less(index, heap[parent])) {
+                break;
+            }
+            heap[slot] = heap[parent];
+            position[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+
+    // Moves the entry at the given slot down until both children are larger
+    private void siftDown(int slot) {
+        int index = heap[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], index)) {
+                break;
+            }
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+}
@@ -0,0 +1,94 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Switch and JFR event types for instrumenting scheduler runs.
+//
+// Run with -Dscheduling.instrument=true to fill the counters of every ScheduleResult
+// (dispatches, preemptions, idle periods, maximum queue depth, decisions per second) and to
+// emit the events below to any active Flight Recorder recording. ENABLED is a static final
+// constant, so when it is off the JIT removes the recording calls and schedulers pay nothing.
+//
+// The per-decision events are high-volume and disabled by default; turn them on in the
+// recording settings, e.g. -XX:StartFlightRecording:settings=profile,+scheduling.Dispatch#enabled=true
+// Every Dispatch event carries the ready queue depth, so a recording charts the queue length over time.
+public final class Instrumentation {
+    public static final boolean ENABLED = Boolean.getBoolean("scheduling.instrument");
+
+    private Instrumentation() {
+    }
+
+    @Name("scheduling.Schedule")
+    @Label("Schedule")
+    @Category("Scheduling")
+    @Description("One scheduler run over a process table")
+    @StackTrace(false)
+    static final class ScheduleEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Processes")
+        int processes;
+        @Label("Dispatches")
+        long dispatches;
+        @Label("Preemptions")
+        long preemptions;
+        @Label("Idle Periods")
+        long idlePeriods;
+        @Label("Max Queue Depth")
+        int maxQueueDepth;
+        @Label("Decisions")
+        long decisions;
+    }
+
+    @Name("scheduling.Dispatch")
+    @Label("Dispatch")
+    @Category("Scheduling")
+    @Description("A process was taken from the ready queue and given the CPU")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class DispatchEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Process Index")
+        int process;
+        @Label("Simulated Time")
+        long time;
+        @Label("Queue Depth")
+        @Description("Processes waiting in the ready queue at the decision that picked this one")
+        int queueDepth;
+    }
+
+    @Name("scheduling.Preemption")
+    @Label("Preemption")
+    @Category("Scheduling")
+    @Description("A running process lost the CPU before it completed")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PreemptionEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Process Index")
+        int process;
+        @Label("Simulated Time")
+        long time;
+    }
+
+    @Name("scheduling.Idle")
+    @Label("Idle Period")
+    @Category("Scheduling")
+    @Description("The CPU had no ready process between two simulated times")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class IdleEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("From")
+        long from;
+        @Label("To")
+        long to;
+    }
+}
@@ -0,0 +1,62 @@
+// FIFO queue of process indices backed by a circular int array
+public class IntRingBuffer {
+    private int[] slots; // Queued indices; length is a power of two
+    private int mask;    // slots.length - 1, used to wrap positions
+    private int head;    // Position of the next index to poll
+    private int size;    // Number of queued indices
+
+    // Creates a queue that can hold at least the given number of indices
+    public IntRingBuffer(int capacity) {
+        this.slots = new int[powerOfTwoAtLeast(capacity)];
+        this.mask = slots.length - 1;
+    }
+
+    // Grows the queue so it can hold at least the given number of indices, keeping their order
+    public void ensureCapacity(int capacity) {
+        if (capacity <= slots.length) {
+            return;
+        }
+        int[] grown = new int[powerOfTwoAtLeast(capacity)];
+        for (int i = 0; i < size; i++) {
+            grown[i] = slots[(head + i) & mask];
+        }
+        slots = grown;
+        mask = grown.length - 1;
+        head = 0;
+    }
+
+    // Appends an index at the tail of the queue
+    public void offer(int index) {
+        if (size == slots.length) {
+            throw new IllegalStateException("Ring buffer is full");
+        }
+        slots[(head + size) & mask] = index;
+        size++;
+    }
+
+    // Returns the index at the head of the queue without removing it
+    public int peek() {
+        return slots[head];
+    }
+
+    // Removes and returns the index at the head of the queue
+    public int poll() {
+        int index = slots[head];
+        head = (head + 1) & mask;
+        size--;
+        return index;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int powerOfTwoAtLeast(int capacity) {
+        int length = Integer.highestOneBit(Math.max(1, capacity));
+        return length < capacity ? length << 1 : length;
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+// Fixed-memory histogram of non-negative times for percentiles without keeping every value.
+// Buckets are log-linear: values below 128 are counted exactly, and every larger power of two
+// is split into 64 buckets, so a reported percentile is at most 1/64 above the true value.
+// All counts and the sum are 64-bit.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;   // Exact buckets for 0 .. 127
+    private static final int HALF_BUCKETS = SUB_BUCKETS >> 1;      // Buckets per power of two above that
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_BUCKETS;
+
+    // Approximate heap size of one histogram, for callers that bound the memory they keep
+    static final long FOOTPRINT_BYTES = BUCKETS * 8L + 64;
+
+    private final long[] counts;
+    private final boolean readOnly; // Set on views that share the buckets of a finished histogram
+    private long count;  // Number of recorded values
+    private long sum;    // Sum of recorded values, for the mean
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        this.readOnly = false;
+    }
+
+    private LatencyHistogram(LatencyHistogram histogram) {
+        this.counts = histogram.counts;
+        this.readOnly = true;
+        this.count = histogram.count;
+        this.sum = histogram.sum;
+        this.min = histogram.min;
+        this.max = histogram.max;
+    }
+
+    // Returns a read-only view sharing this histogram's buckets, so nothing is copied;
+    // only for histograms that no longer change
+    LatencyHistogram readOnlyView() {
+        return new LatencyHistogram(this);
+    }
+
+    // Records one value; negative values are counted as 0
+    public void record(long value) {
+        checkWritable();
+        value = Math.max(0, value);
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Adds every value recorded in another histogram, e.g. to combine parallel runs
+    public void add(LatencyHistogram other) {
+        checkWritable();
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void clear() {
+        checkWritable();
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Histogram is read-only");
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    // Smallest recorded value that at least the given percentage (0-100) of the values do not exceed,
+    // rounded up to the top of its bucket but never above the maximum
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueIn(i));
+            }
+        }
+        return max;
+    }
+
+    // Bucket of a value: the value itself below SUB_BUCKETS, otherwise its power of two
+    // and its top SUB_BUCKET_BITS - 1 bits below the leading one
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_BUCKETS + (int) (value >>> shift) - HALF_BUCKETS;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_BUCKETS + 1;
+        long mantissa = (bucket - SUB_BUCKETS) % HALF_BUCKETS + HALF_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
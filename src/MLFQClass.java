@@ -0,0 +1,200 @@
+// Multilevel Feedback Queue: round robin on several levels, each with its own time quantum.
+// New processes enter the top level. A process that uses up its quantum on a level moves down
+// one level, the bottom level keeps its processes. A process always runs before the processes
+// of lower levels, and an arrival preempts a process running below the top level. Time used
+// before a preemption still counts toward the quantum, so yielding early does not keep a
+// process on a high level. Every boostInterval time units all processes move back to the top
+// level, so long batch jobs are not starved by a steady stream of short interactive ones.
+public class MLFQClass implements Scheduler {
+    private final ProcessTable processes; // Processes added through addProcess
+    private final int[] quanta;           // Time quantum of each level, top level first
+    private final int boostInterval;      // Time between priority boosts, 0 to never boost
+
+    // Three levels with quanta q, 2q and 4q and a boost every 8 quanta of the bottom level.
+    // A quantum whose multiples do not fit in an int is rejected.
+    public MLFQClass(int timeQuantum) {
+        this(new int[] {timeQuantum, scaled(timeQuantum, 2), scaled(timeQuantum, 4)},
+                scaled(timeQuantum, 32));
+    }
+
+    // Creates a scheduler with one level per quantum, at most 64 levels
+    public MLFQClass(int[] quanta, int boostInterval) {
+        if (quanta.length == 0 || quanta.length > 64) {
+            throw new IllegalArgumentException("MLFQ needs between 1 and 64 levels: " + quanta.length);
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be positive: " + quantum);
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("Boost interval must not be negative: " + boostInterval);
+        }
+        this.processes = new ProcessTable();
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+    }
+
+    // Add a process by automatically generating a process ID (A, B, C, etc.)
+    public void addProcess(int arrivalTime, int burstTime) {
+        processes.add(arrivalTime, burstTime);
+    }
+
+    // Add a process with the specified ID, arrival time, and burst time
+    public void addProcess(String processID, int arrivalTime, int burstTime) {
+        processes.add(processID, arrivalTime, burstTime);
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder("MLFQ (q=");
+        for (int level = 0; level < quanta.length; level++) {
+            name.append(level == 0 ? "" : ",").append(quanta[level]);
+        }
+        return name.append(boostInterval == 0 ? ")" : ", boost=" + boostInterval + ")").toString();
+    }
+
+    // Execute the MLFQ scheduling algorithm and display the results
+    public void execute() {
+        new ConsoleRenderer(System.out).render(schedule(processes));
+    }
+
+    // Runs the highest non-empty level round robin, demoting processes that use up their quantum
+    @Override
+    public ScheduleResult schedule(ProcessTable processes) {
+        ScheduleResult result = new ScheduleResult(getName(), processes);
+
+        // Process indices sorted by arrival time
+        int[] arrivalOrder = processes.arrivalOrder();
+        int n = arrivalOrder.length;
+        int levels = quanta.length;
+
+        // One FIFO queue per level; bit l of nonEmpty is set while the queue of level l has processes,
+        // so the highest ready level is found in constant time. The queues start small and grow
+        // one by one, so together they never hold much more than the waiting processes.
+        IntRingBuffer[] queues = new IntRingBuffer[levels];
+        for (int level = 0; level < levels; level++) {
+            queues[level] = new IntRingBuffer(16);
+        }
+        long nonEmpty = 0;
+        int queued = 0;              // Processes waiting in any queue
+
+        int[] level = new int[n];             // Current level of each process
+        long[] used = new long[n];            // Time used of the quantum on the current level
+        long[] remainingTime = new long[n];   // Remaining burst time of each process
+        for (int i = 0; i < n; i++) {
+            remainingTime[i] = processes.burstTime(i);
+        }
+
+        long currentTime = 0;
+        long nextBoost = boostInterval == 0 ? Long.MAX_VALUE : boostInterval;
+        int nextArrival = 0;    // Position of the next process to arrive in arrivalOrder
+        int completedCount = 0; // Number of processes that have finished
+        int running = -1;       // Process holding the CPU, -1 when it is free
+
+        while (completedCount < n) {
+            // New processes join the top level
+            while (nextArrival < n && processes.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                enqueue(queues[0], arrivalOrder[nextArrival++]);
+                nonEmpty |= 1L;
+                queued++;
+            }
+
+            // Priority boost: the running process and every waiting process go back to the top level
+            if (currentTime >= nextBoost) {
+                for (int l = 1; l < levels; l++) {
+                    while (!queues[l].isEmpty()) {
+                        int index = queues[l].poll();
+                        level[index] = 0;
+                        used[index] = 0;
+                        enqueue(queues[0], index);
+                    }
+                }
+                nonEmpty = queued == 0 ? 0 : 1L;
+                if (running != -1) {
+                    level[running] = 0;
+                    used[running] = 0;
+                }
+                nextBoost = (currentTime / boostInterval + 1) * boostInterval;
+            }
+
+            // A process waiting on a higher level preempts the running one
+            if (running != -1 && nonEmpty != 0 && Long.numberOfTrailingZeros(nonEmpty) < level[running]) {
+                result.recordPreemption(running, currentTime);
+                enqueue(queues[level[running]], running);
+                nonEmpty |= 1L << level[running];
+                queued++;
+                running = -1;
+            }
+
+            if (running == -1) {
+                // If no processes are ready, skip to the time when the next process arrives
+                if (nonEmpty == 0) {
+                    long arrivalTime = processes.arrivalTime(arrivalOrder[nextArrival]);
+                    result.recordIdle(currentTime, arrivalTime);
+                    currentTime = arrivalTime;
+                    continue;
+                }
+                result.recordDecision(queued);
+                int top = Long.numberOfTrailingZeros(nonEmpty);
+                running = queues[top].poll();
+                if (queues[top].isEmpty()) {
+                    nonEmpty &= ~(1L << top);
+                }
+                queued--;
+                result.recordDispatch(running, currentTime);
+            }
+
+            // Run until the quantum is used up, the process completes, the next boost,
+            // or (below the top level) the next arrival, whichever comes first
+            long quantumLeft = quanta[level[running]] - used[running];
+            long runUntil = currentTime + Math.min(remainingTime[running], quantumLeft);
+            runUntil = Math.min(runUntil, nextBoost);
+            if (level[running] > 0 && nextArrival < n) {
+                runUntil = Math.min(runUntil, processes.arrivalTime(arrivalOrder[nextArrival]));
+            }
+            result.recordRun(running, currentTime, runUntil);
+            remainingTime[running] -= runUntil - currentTime;
+            used[running] += runUntil - currentTime;
+            currentTime = runUntil;
+
+            if (remainingTime[running] == 0) {
+                completedCount++;
+                result.recordCompletion(running, currentTime);
+                running = -1;
+            } else if (used[running] == quanta[level[running]]) {
+                // Quantum used up: move down one level, behind the processes already waiting there
+                result.recordPreemption(running, currentTime);
+                level[running] = Math.min(level[running] + 1, levels - 1);
+                used[running] = 0;
+                enqueue(queues[level[running]], running);
+                nonEmpty |= 1L << level[running];
+                queued++;
+                running = -1;
+            }
+        }
+        result.finish();
+        return result;
+    }
+
+    // Appends a process to a level queue, growing the queue when it is full
+    private static void enqueue(IntRingBuffer queue, int index) {
+        queue.ensureCapacity(queue.size() + 1);
+        queue.offer(index);
+    }
+
+    // quantum * factor, or an IllegalArgumentException when that does not fit in an int
+    private static int scaled(int quantum, int factor) {
+        long value = (long) quantum * factor;
+        if (value != (int) value) {
+            throw new IllegalArgumentException("Time quantum too large for MLFQ: " + quantum);
+        }
+        return (int) value;
+    }
+
+    // Creates an incremental MLFQ simulator for processes submitted while it advances
+    @Override
+    public OnlineScheduler online() {
+        return OnlineSimulator.mlfq(quanta, boostInterval);
+    }
+}
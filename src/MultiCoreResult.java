@@ -0,0 +1,204 @@
+import java.util.Arrays;
+
+// Outcome of a multi-core scheduling run: per-process times, one timeline per core
+// and the load-balance metrics used to compare core counts.
+public class MultiCoreResult {
+    private final String algorithm;        // Name of the scheduler that produced the result
+    private final int cores;               // Number of simulated cores
+    private final ProcessTable processes;  // Processes that were scheduled
+    private final long[] startTime;        // First time each process ran, -1 if it never ran
+    private final long[] completionTime;   // Time each process finished
+    private final int[] lastCore;          // Core each process last ran on, -1 before it first ran
+
+    private final Timeline[] timelines;     // Run segments of each core
+    private final int[] lastRun;            // Process of each core's latest dispatch, -1 before the first
+    private final long[] busyTime;          // Time each core spent running processes
+
+    // Latency distributions, fed as processes start and complete
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+    private long contextSwitches;  // Times a core moved on to a different process
+    private long migrations;       // Times a process resumed on a different core than before
+    private long steals;           // Processes an idle core took from another core's queue
+    private long endTime;          // Time the last process completed
+
+    // Creates an empty result that the simulator fills in while it runs
+    MultiCoreResult(String algorithm, int cores, ProcessTable processes) {
+        this.algorithm = algorithm;
+        this.cores = cores;
+        this.processes = processes;
+        this.startTime = new long[processes.size()];
+        this.completionTime = new long[processes.size()];
+        this.lastCore = new int[processes.size()];
+        this.timelines = new Timeline[cores];
+        this.lastRun = new int[cores];
+        this.busyTime = new long[cores];
+        Arrays.fill(startTime, -1);
+        Arrays.fill(lastCore, -1);
+        Arrays.fill(lastRun, -1);
+        for (int core = 0; core < cores; core++) {
+            timelines[core] = new Timeline();
+        }
+    }
+
+    // Records that a core picked a process to run
+    void recordDispatch(int core, int index, long time) {
+        if (startTime[index] == -1) {
+            startTime[index] = time;
+            responseTimes.record(time - processes.arrivalTime(index));
+        }
+        if (lastRun[core] != -1 && lastRun[core] != index) {
+            contextSwitches++;
+        }
+        if (lastCore[index] != -1 && lastCore[index] != core) {
+            migrations++;
+        }
+        lastRun[core] = index;
+        lastCore[index] = core;
+    }
+
+    // Records that a process ran on a core from one time to another
+    void recordRun(int core, int index, long from, long to) {
+        timelines[core].add(index, from, to);
+        busyTime[core] += to - from;
+    }
+
+    void recordSteal() {
+        steals++;
+    }
+
+    // Records the time a process finished
+    void recordCompletion(int index, long time) {
+        completionTime[index] = time;
+        endTime = Math.max(endTime, time);
+        long turnaroundTime = time - processes.arrivalTime(index);
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(turnaroundTime - processes.burstTime(index));
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public ProcessTable getProcesses() {
+        return processes;
+    }
+
+    public int size() {
+        return completionTime.length;
+    }
+
+    public long getStartTime(int index) {
+        return startTime[index];
+    }
+
+    public long getCompletionTime(int index) {
+        return completionTime[index];
+    }
+
+    // Time from arrival to completion
+    public long getTurnaroundTime(int index) {
+        return completionTime[index] - processes.arrivalTime(index);
+    }
+
+    // Time spent waiting in a ready queue (turnaround time minus burst time)
+    public long getWaitingTime(int index) {
+        return getTurnaroundTime(index) - processes.burstTime(index);
+    }
+
+    // Time from arrival until the process first ran
+    public long getResponseTime(int index) {
+        return startTime[index] - processes.arrivalTime(index);
+    }
+
+    public LatencyHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+
+    public LatencyHistogram getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    // Run segments of a core; the gaps between them are idle time
+    public Timeline getTimeline(int core) {
+        return timelines[core];
+    }
+
+    public long getBusyTime(int core) {
+        return busyTime[core];
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getMigrations() {
+        return migrations;
+    }
+
+    public long getSteals() {
+        return steals;
+    }
+
+    // Completed processes per unit of time
+    public double getThroughput() {
+        return endTime == 0 ? 0 : (double) size() / endTime;
+    }
+
+    public double getAverageWaitingTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getWaitingTime(i);
+        }
+        return (double) total / size();
+    }
+
+    public double getAverageTurnaroundTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getTurnaroundTime(i);
+        }
+        return (double) total / size();
+    }
+
+    public double getAverageResponseTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getResponseTime(i);
+        }
+        return (double) total / size();
+    }
+
+    // Percentage of the cores' combined time spent running processes
+    public double getCpuUtilization() {
+        long busy = 0;
+        for (long time : busyTime) {
+            busy += time;
+        }
+        return endTime == 0 ? 0 : ((double) busy / ((double) endTime * cores)) * 100;
+    }
+
+    // Busy time of the busiest core divided by the average busy time; 1.0 is a perfect balance
+    public double getLoadImbalance() {
+        long busy = 0, maxBusy = 0;
+        for (long time : busyTime) {
+            busy += time;
+            maxBusy = Math.max(maxBusy, time);
+        }
+        return busy == 0 ? 1 : (double) maxBusy * cores / busy;
+    }
+}
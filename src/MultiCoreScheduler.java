@@ -0,0 +1,326 @@
+import java.util.Arrays;
+
+// Simulates the scheduling algorithms on several identical CPU cores.
+//
+// GLOBAL mode shares one ready queue between all cores. PER_CORE mode spreads arriving
+// processes round-robin over one ready queue per core, and WORK_STEALING additionally lets
+// a core whose own queue is empty take the next process from the longest queue of another core.
+// Like the single-CPU schedulers it jumps from event to event (arrivals, completions, the end
+// of a time quantum) instead of ticking, so its cost grows with the number of slices.
+public class MultiCoreScheduler {
+    public enum Mode { GLOBAL, PER_CORE, WORK_STEALING }
+
+    private final String algorithm; // Name of the single-CPU algorithm being simulated
+    private final PolicyQueue.Order order; // Order of the ready queues; ties go to the earlier arrival,
+                                           // or for preemptive priority to the lower process ID
+    private final boolean preemptive; // Whether an arrival can take a core from a running process
+    private final int timeQuantum;    // Slice length for round robin, 0 to run until done or preempted
+    private final int cores;
+    private final Mode mode;
+
+    private MultiCoreScheduler(String algorithm, PolicyQueue.Order order, boolean preemptive, int timeQuantum,
+                               int cores, Mode mode) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Number of cores must be positive: " + cores);
+        }
+        this.algorithm = algorithm;
+        this.order = order;
+        this.preemptive = preemptive;
+        this.timeQuantum = timeQuantum;
+        this.cores = cores;
+        this.mode = mode;
+    }
+
+    // Creates the multi-core variant of an algorithm named as in Algorithms.NAMES
+    public static MultiCoreScheduler create(String name, int timeQuantum, int cores, Mode mode) {
+        return create(name, timeQuantum, 0, 0, 0, cores, mode);
+    }
+
+    // Same as above with the settings Algorithms.create accepts. Context switch costs and aging
+    // are not modelled on several cores, so non-zero values are rejected rather than ignored.
+    public static MultiCoreScheduler create(String name, int timeQuantum, int switchCost, int resumeCost,
+                                            int agingInterval, int cores, Mode mode) {
+        if (switchCost != 0 || resumeCost != 0) {
+            throw new IllegalArgumentException("Context switch costs are not supported on multiple cores");
+        }
+        if (agingInterval != 0) {
+            throw new IllegalArgumentException("Priority aging is not supported on multiple cores");
+        }
+        switch (name.toLowerCase()) {
+            case "fcfs":
+                return new MultiCoreScheduler("FCFS", PolicyQueue.Order.FIFO, false, 0, cores, mode);
+            case "sjf":
+                return new MultiCoreScheduler("SJF", PolicyQueue.Order.BURST, false, 0, cores, mode);
+            case "srtf":
+                return new MultiCoreScheduler("SRTF", PolicyQueue.Order.REMAINING, true, 0, cores, mode);
+            case "npp":
+                return new MultiCoreScheduler("Non-Preemptive Priority", PolicyQueue.Order.PRIORITY, false, 0,
+                        cores, mode);
+            case "pp":
+                return new MultiCoreScheduler("Preemptive Priority", PolicyQueue.Order.PRIORITY, true, 0,
+                        cores, mode);
+            case "rr":
+                if (timeQuantum <= 0) {
+                    throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+                }
+                return new MultiCoreScheduler("Round Robin (q=" + timeQuantum + ")", PolicyQueue.Order.FIFO,
+                        false, timeQuantum, cores, mode);
+            case "mlfq":
+                throw new IllegalArgumentException("MLFQ has no multi-core variant");
+            default:
+                throw new IllegalArgumentException("Unknown algorithm '" + name + "', expected one of "
+                        + Algorithms.NAMES);
+        }
+    }
+
+    public String getName() {
+        return algorithm + " on " + cores + (cores == 1 ? " core" : " cores")
+                + (mode == Mode.GLOBAL ? "" : mode == Mode.PER_CORE ? ", per-core queues" : ", work stealing");
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Schedules the processes on the cores; the table itself is only read
+    public MultiCoreResult schedule(ProcessTable processes) {
+        return new Simulation(processes).run();
+    }
+
+    // State of one scheduling run. Processes are addressed by their position in arrival order.
+    private final class Simulation {
+        private final ProcessTable processes;
+        private final MultiCoreResult result;
+        private final int[] arrivalOrder;   // Row index of each arrival position
+        private final long[] remainingTime; // Remaining burst time of each position
+        private final int[] idRank;         // Preemptive priority: rank of each position by process ID
+        private final PolicyQueue[] queues; // One shared queue in GLOBAL mode, otherwise one per core
+        private final int[] running;        // Position running on each core, -1 when the core is idle
+        private final long[] sliceStart;    // Time each core's current slice began
+        private final IndexHeap sliceEnds;  // Busy cores keyed by the time their slice ends
+        private final IndexHeap preemptionOrder; // Busy cores, least important first (global preemption only)
+
+        private long currentTime;
+        private int nextArrival;  // Next position to arrive
+        private int nextQueue;    // Per-core queue that receives the next arrival
+        private int idleCores;
+        private int queued;       // Processes waiting in all queues together
+        private int completed;
+
+        Simulation(ProcessTable processes) {
+            this.processes = processes;
+            this.result = new MultiCoreResult(getName(), cores, processes);
+            this.arrivalOrder = processes.arrivalOrder();
+            int n = arrivalOrder.length;
+            this.remainingTime = new long[n];
+            for (int i = 0; i < n; i++) {
+                remainingTime[i] = processes.burstTime(arrivalOrder[i]);
+            }
+
+            // Preemptive priority breaks ties by process ID, as PreemptivePriorityClass does
+            if (preemptive && order == PolicyQueue.Order.PRIORITY) {
+                int[] rankToIndex = processes.idOrder();
+                int[] indexRank = new int[n];
+                for (int rank = 0; rank < n; rank++) {
+                    indexRank[rankToIndex[rank]] = rank;
+                }
+                this.idRank = new int[n];
+                for (int i = 0; i < n; i++) {
+                    idRank[i] = indexRank[arrivalOrder[i]];
+                }
+            } else {
+                this.idRank = null;
+            }
+
+            this.queues = new PolicyQueue[mode == Mode.GLOBAL ? 1 : cores];
+            int expected = Math.max(16, n / queues.length);
+            for (int q = 0; q < queues.length; q++) {
+                queues[q] = new PolicyQueue(order, expected);
+            }
+            this.running = new int[cores];
+            Arrays.fill(running, -1);
+            this.sliceStart = new long[cores];
+            this.sliceEnds = new IndexHeap(cores);
+            this.preemptionOrder = preemptive && mode == Mode.GLOBAL ? new IndexHeap(cores) {
+                // Among equal priorities the process with the highest ID is the least important
+                @Override
+                protected long tieBreaker(int core) {
+                    return idRank != null ? -idRank[running[core]] : core;
+                }
+            } : null;
+            this.idleCores = cores;
+        }
+
+        MultiCoreResult run() {
+            int n = arrivalOrder.length;
+            while (completed < n) {
+                // Arrivals only need their own event when they can be acted on at once;
+                // otherwise they join the queue at the next slice end, behind any re-queued process
+                long next = sliceEnds.isEmpty() ? Long.MAX_VALUE : sliceEnds.peekKey();
+                if (nextArrival < n && (preemptive || idleCores > 0)) {
+                    next = Math.min(next, arrivalTime(nextArrival));
+                }
+                currentTime = next;
+
+                while (!sliceEnds.isEmpty() && sliceEnds.peekKey() == currentTime) {
+                    endSlice(sliceEnds.poll());
+                }
+                admitArrivals();
+                dispatchIdleCores();
+                if (preemptionOrder != null) {
+                    preemptLeastImportant();
+                }
+            }
+            return result;
+        }
+
+        private long arrivalTime(int position) {
+            return processes.arrivalTime(arrivalOrder[position]);
+        }
+
+        // Queues every process that has arrived by now; per-core arrivals may preempt their core
+        private void admitArrivals() {
+            while (nextArrival < arrivalOrder.length && arrivalTime(nextArrival) <= currentTime) {
+                int position = nextArrival++;
+                int q = 0;
+                if (mode != Mode.GLOBAL) {
+                    q = nextQueue;
+                    nextQueue = nextQueue + 1 == cores ? 0 : nextQueue + 1;
+                }
+                queues[q].add(position, primaryKey(position), sequence(position));
+                queued++;
+
+                if (preemptive && mode != Mode.GLOBAL && running[q] != -1 && outranks(queues[q], q)) {
+                    sliceEnds.remove(q);
+                    endSlice(q);
+                }
+            }
+        }
+
+        // Gives every idle core the next process from its own queue, or a stolen one
+        private void dispatchIdleCores() {
+            for (int core = 0; core < cores && idleCores > 0 && queued > 0; core++) {
+                if (running[core] != -1) {
+                    continue;
+                }
+                int q = mode == Mode.GLOBAL ? 0 : core;
+                if (!queues[q].isEmpty()) {
+                    dispatch(core, q);
+                } else if (mode == Mode.WORK_STEALING) {
+                    int victim = longestQueue();
+                    if (victim != -1) {
+                        result.recordSteal();
+                        dispatch(core, victim);
+                    }
+                }
+            }
+        }
+
+        // With one shared queue, a waiting process takes the core of the least important running one
+        private void preemptLeastImportant() {
+            PolicyQueue queue = queues[0];
+            while (!queue.isEmpty() && idleCores == 0) {
+                int core = preemptionOrder.peek();
+                if (!outranks(queue, core)) {
+                    return;
+                }
+                sliceEnds.remove(core);
+                endSlice(core);
+                dispatch(core, 0);
+            }
+        }
+
+        private int longestQueue() {
+            int victim = -1;
+            for (int q = 0; q < queues.length; q++) {
+                if (!queues[q].isEmpty() && (victim == -1 || queues[q].size() > queues[victim].size())) {
+                    victim = q;
+                }
+            }
+            return victim;
+        }
+
+        private void dispatch(int core, int q) {
+            int position = queues[q].poll();
+            queued--;
+            idleCores--;
+            running[core] = position;
+            sliceStart[core] = currentTime;
+
+            long length = remainingTime[position];
+            if (timeQuantum > 0) {
+                length = Math.min(length, timeQuantum);
+            }
+            sliceEnds.add(core, currentTime + length);
+            if (preemptionOrder != null) {
+                // Remaining times all shrink together, so the running process that ends last has the most left
+                preemptionOrder.add(core, order == PolicyQueue.Order.REMAINING
+                        ? -(currentTime + length) : -runningKey(core));
+            }
+            result.recordDispatch(core, arrivalOrder[position], currentTime);
+        }
+
+        // Stops the slice running on a core; the process completes or goes back to its core's queue
+        private void endSlice(int core) {
+            int position = running[core];
+            long ran = currentTime - sliceStart[core];
+            if (ran > 0) {
+                result.recordRun(core, arrivalOrder[position], sliceStart[core], currentTime);
+            }
+            remainingTime[position] -= ran;
+            if (preemptionOrder != null) {
+                preemptionOrder.remove(core); // Before running[core] changes, which its ties read
+            }
+            running[core] = -1;
+            idleCores++;
+
+            if (remainingTime[position] == 0) {
+                result.recordCompletion(arrivalOrder[position], currentTime);
+                completed++;
+            } else {
+                queues[mode == Mode.GLOBAL ? 0 : core].add(position, primaryKey(position), sequence(position));
+                queued++;
+            }
+        }
+
+        // Whether the head of a queue should take the core from the process running on it: a strictly
+        // smaller key, or for preemptive priority an equal key with a lower process ID
+        private boolean outranks(PolicyQueue queue, int core) {
+            long runningKey = runningKey(core);
+            return queue.peekKey() < runningKey || (idRank != null && queue.peekKey() == runningKey
+                    && queue.peekSequence() < sequence(running[core]));
+        }
+
+        // Tie-breaking sequence of a process: its process ID rank for preemptive priority,
+        // otherwise its arrival position
+        private long sequence(int position) {
+            return idRank != null ? idRank[position] : position;
+        }
+
+        // Ordering key of a waiting process
+        private long primaryKey(int position) {
+            switch (order) {
+                case BURST:
+                    return processes.burstTime(arrivalOrder[position]);
+                case REMAINING:
+                    return remainingTime[position];
+                case PRIORITY:
+                    return processes.priority(arrivalOrder[position]);
+                default:
+                    return 0;
+            }
+        }
+
+        // Ordering key of the process running on a core, as of the current time
+        private long runningKey(int core) {
+            if (order == PolicyQueue.Order.REMAINING) {
+                return remainingTime[running[core]] - (currentTime - sliceStart[core]);
+            }
+            return primaryKey(running[core]);
+        }
+    }
+}
@@ -1,132 +1,120 @@
 // Coded by: Trizia Lorenz Ambagan
-import java.util.ArrayList;
-import java.util.Comparator;
 
-public class NonPreemptivePriorityClass {
-    private ArrayList<PriorityProcess> processes = new ArrayList<>(); // List of processes to be scheduled
-    private ArrayList<PriorityProcess> completedProcesses = new ArrayList<>(); // List of completed processes
+public class NonPreemptivePriorityClass implements Scheduler {
+    private final ProcessTable processes = new ProcessTable(); // Processes added through addProcess
+
+    // Highest priority value scheduled with bucket queues (0-139, like Linux RT and nice levels)
+    private static final int MAX_BUCKET_PRIORITY = 139;
+
+    // Waiting time that improves the priority of a waiting process by one level, 0 for no aging
+    private final int agingInterval;
+
+    public NonPreemptivePriorityClass() {
+        this(0);
+    }
+
+    // Creates a scheduler whose waiting processes gain one priority level per agingInterval waited
+    public NonPreemptivePriorityClass(int agingInterval) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval must not be negative: " + agingInterval);
+        }
+        this.agingInterval = agingInterval;
+    }
 
     // Method to add a process using specific attributes
     public void addProcess(String processID, int priority, int arrivalTime, int burstTime) {
-        PriorityProcess process = new PriorityProcess(processID, priority, arrivalTime, burstTime);
-        processes.add(process); // Add the process to the list
+        processes.add(processID, priority, arrivalTime, burstTime);
     }
 
     // Method to add a process with an automatically generated process ID
     public void addProcess(int priority, int arrivalTime, int burstTime) {
-        String processID = String.valueOf((char) ('A' + processes.size())); // Generate a process ID based on the order
-        addProcess(processID, priority, arrivalTime, burstTime); // Delegate to the other addProcess method
+        processes.add(priority, arrivalTime, burstTime); // ID is generated from the row: A, B, C...
+    }
+
+    @Override
+    public String getName() {
+        if (agingInterval == 0) {
+            return "Non-Preemptive Priority";
+        }
+        return "Non-Preemptive Priority (aging=" + agingInterval + ")";
     }
 
-    // Main scheduling execution method
+    // Main scheduling execution method: schedules the added processes and displays the results
     public void execute() {
-        ArrayList<PriorityProcess> inputOrderProcesses = new ArrayList<>(processes); // Preserve the input order of processes
-
-        int currentTime = 0; // Tracks the current time in the scheduling process
-        int totalTurnaroundTime = 0; // Cumulative turnaround time
-        int totalWaitingTime = 0; // Cumulative waiting time
-        int idleTime = 0; // Total CPU idle time
-
-        // Strings to construct the Gantt chart
-        StringBuilder ganttChartTop = new StringBuilder();
-        StringBuilder ganttChartBottom = new StringBuilder();
-        StringBuilder ganttChartTime = new StringBuilder("0");
-
-        while (!processes.isEmpty()) {
-            final int currentTimeFinal = currentTime;
-            // Find the highest-priority process available at the current time
-            PriorityProcess currentProcess = processes.stream()
-                    .filter(p -> p.arrivalTime <= currentTimeFinal) // Only consider processes that have arrived
-                    .min(Comparator.comparingInt((PriorityProcess p) -> p.priority) // Select based on priority
-                            .thenComparingInt(p -> p.arrivalTime)) // Break ties using arrival time
-                    .orElse(null);
-
-            if (currentProcess != null) {
-                processes.remove(currentProcess); // Remove the selected process from the queue
-
-                // Handle CPU idle time if the process arrives after the current time
-                if (currentTime < currentProcess.arrivalTime) {
-                    idleTime += currentProcess.arrivalTime - currentTime; // Add to idle time
-                    ganttChartTop.append("+-----".repeat(currentProcess.arrivalTime - currentTime));
-                    ganttChartBottom.append("| /// ".repeat(currentProcess.arrivalTime - currentTime));
-                    ganttChartTime.append(String.format("%6d", currentProcess.arrivalTime));
-                    currentTime = currentProcess.arrivalTime; // Advance current time
-                }
-
-                // Update process timings
-                currentProcess.startTime = currentTime; 
-                currentTime += currentProcess.burstTime; 
-                currentProcess.completionTime = currentTime; 
-
-                // Calculate and update turnaround and waiting times
-                currentProcess.turnAroundTime = currentProcess.completionTime - currentProcess.arrivalTime;
-                currentProcess.waitingTime = currentProcess.turnAroundTime - currentProcess.burstTime;
-
-                totalTurnaroundTime += currentProcess.turnAroundTime;
-                totalWaitingTime += currentProcess.waitingTime; 
-
-                completedProcesses.add(currentProcess); // Add the process to the completed list
-
-                // Append the process to the Gantt chart
-                ganttChartTop.append("+-----");
-                ganttChartBottom.append("|  ").append(currentProcess.processID).append("  ");
-                ganttChartTime.append(String.format("%6d", currentTime)); 
+        new ConsoleRenderer(System.out).render(schedule(processes));
+    }
+
+    // Runs the highest-priority arrived process to completion each time the CPU becomes free
+    @Override
+    public ScheduleResult schedule(ProcessTable processes) {
+        ScheduleResult result = new ScheduleResult(getName(), processes);
+
+        // Process indices sorted by arrival time; the ready queue works on positions in this order
+        int[] arrivalOrder = processes.arrivalOrder();
+        int n = arrivalOrder.length;
+        int nextArrival = 0; // Position of the next process to arrive in arrivalOrder
+        long currentTime = 0; // Tracks the current time in the scheduling process
+
+        // Ready queue: FIFO buckets per priority when priorities are small, otherwise a heap.
+        // Both order by priority, then arrival time, then input order.
+        ReadyQueue readyQueue = createReadyQueue(processes);
+
+        while (nextArrival < n || !readyQueue.isEmpty()) {
+            // Move every process that has arrived by now into the ready queue
+            while (nextArrival < n && processes.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                int index = arrivalOrder[nextArrival];
+                readyQueue.add(nextArrival, readyKey(processes.priority(index), processes.arrivalTime(index)));
+                nextArrival++;
+            }
+
+            result.recordDecision(readyQueue.size());
+            if (!readyQueue.isEmpty()) {
+                // Run the highest-priority process available at the current time
+                int index = arrivalOrder[readyQueue.poll()];
+                result.recordDispatch(index, currentTime);
+                long completionTime = currentTime + processes.burstTime(index);
+                result.recordRun(index, currentTime, completionTime);
+                result.recordCompletion(index, completionTime);
+                currentTime = completionTime;
             } else {
                 // Handle cases where no process is ready to execute
-                int nextArrival = processes.stream().mapToInt(p -> p.arrivalTime).min().orElse(currentTime + 1);
-                ganttChartTop.append("+-----");
-                ganttChartBottom.append("| /// ");
-                ganttChartTime.append(String.format("%6d", nextArrival));
-                idleTime += nextArrival - currentTime; 
-                currentTime = nextArrival; 
+                int arrivalTime = processes.arrivalTime(arrivalOrder[nextArrival]);
+                result.recordIdle(currentTime, arrivalTime);
+                currentTime = arrivalTime;
             }
         }
+        result.finish();
+        return result;
+    }
 
-        // Finalize the Gantt chart visuals
-        ganttChartTop.append("+");
-        ganttChartBottom.append("|");
-
-        // Display all results after scheduling
-        displayResults(inputOrderProcesses, totalTurnaroundTime, totalWaitingTime, idleTime, currentTime, ganttChartTop,
-                ganttChartBottom, ganttChartTime);
+    // Ready queue key of a process that arrived at the given time. With aging, the effective priority
+    // is priority - waited / agingInterval. Scaled by agingInterval this is priority * agingInterval
+    // + arrivalTime - now, and leaving out "now" gives a key that orders waiting processes the same
+    // way at every time, so it is fixed on arrival and nothing is rescanned.
+    private long readyKey(int priority, long arrivalTime) {
+        return agingInterval == 0 ? priority : (long) priority * agingInterval + arrivalTime;
     }
 
-    // Method to display results: process details and performance metrics
-    private void displayResults(ArrayList<PriorityProcess> inputOrderProcesses, int totalTurnaroundTime,
-            int totalWaitingTime, int idleTime, int currentTime, StringBuilder ganttChartTop,
-            StringBuilder ganttChartBottom, StringBuilder ganttChartTime) {
-        System.out.println("\nProcess Table:");
-        System.out
-                .println("Process\tPriority\tArrival Time\tBurst Time\tCompletion Time\tTurnaround Time\tWaiting Time");
-
-        // Output details of all processes in their input order
-        for (PriorityProcess p : inputOrderProcesses) {
-            PriorityProcess completedProcess = completedProcesses.stream()
-                    .filter(cp -> cp.processID.equals(p.processID)) // Match based on process ID
-                    .findFirst()
-                    .orElse(null);
-            if (completedProcess != null) {
-                System.out.println(completedProcess.processID + "\t" + completedProcess.priority + "\t\t"
-                        + completedProcess.arrivalTime + "\t\t" + completedProcess.burstTime + "\t\t"
-                        + completedProcess.completionTime + "\t\t" + completedProcess.turnAroundTime + "\t\t"
-                        + completedProcess.waitingTime);
-            }
+    // Picks bucket queues when every priority fits in the bucket range, and a heap otherwise
+    // (always a heap with aging, since the aged keys grow with time)
+    private ReadyQueue createReadyQueue(ProcessTable processes) {
+        if (agingInterval > 0) {
+            return new IndexHeap(processes.size());
+        }
+        int minPriority = 0, maxPriority = 0;
+        for (int i = 0; i < processes.size(); i++) {
+            minPriority = Math.min(minPriority, processes.priority(i));
+            maxPriority = Math.max(maxPriority, processes.priority(i));
         }
+        if (minPriority >= 0 && maxPriority <= MAX_BUCKET_PRIORITY) {
+            return new BucketQueue(maxPriority, processes.size());
+        }
+        return new IndexHeap(processes.size());
+    }
 
-        // Display the constructed Gantt chart
-        System.out.println("\nGantt Chart:");
-        System.out.println(ganttChartTop);
-        System.out.println(ganttChartBottom);
-        System.out.println(ganttChartTop);
-        System.out.println(ganttChartTime);
-
-        // Calculate and display performance metrics
-        double avgTurnaroundTime = (double) totalTurnaroundTime / completedProcesses.size();
-        double avgWaitingTime = (double) totalWaitingTime / completedProcesses.size();
-        double cpuUtilization = ((currentTime - idleTime) / (double) currentTime) * 100;
-
-        System.out.printf("\nAverage Turnaround Time: %.2f ms\n", avgTurnaroundTime);
-        System.out.printf("Average Waiting Time: %.2f ms\n", avgWaitingTime);
-        System.out.printf("CPU Utilization: %.2f%%\n", cpuUtilization);
+    // Creates an incremental non-preemptive priority simulator for processes submitted while it advances
+    @Override
+    public OnlineScheduler online() {
+        return OnlineSimulator.priority(false, 0, agingInterval);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+import java.util.List;
+
+// Incremental form of a scheduling algorithm: processes are submitted while the simulation advances
+public interface OnlineScheduler {
+    // Submits a process arriving at the given time and returns its job ID.
+    // Arrival times must not go backwards and must not be earlier than the current time.
+    long submit(int priority, long arrivalTime, int burstTime);
+
+    // Submits a process under a job ID chosen by the caller, e.g. one handed out by ConcurrentSubmitter.
+    // Later submissions without an ID get IDs above it. Metrics are measured from the arrival time
+    // given here, so a ConcurrentSubmitter that had to delay a late arrival reports the delayed time.
+    long submit(long jobID, int priority, long arrivalTime, int burstTime);
+
+    // Submits a process without a priority
+    default long submit(long arrivalTime, int burstTime) {
+        return submit(0, arrivalTime, burstTime);
+    }
+
+    // Simulates up to the given time. Processes still finish at that time, but the next
+    // dispatch decision waits for the next call, so arrivals at that time can still be submitted.
+    void advanceTo(long time);
+
+    // Returns the processes that finished since the last call, in completion order
+    List<CompletedJob> drainCompleted();
+
+    // Time the simulation has advanced to
+    long currentTime();
+
+    // Number of submitted processes that have not finished yet
+    int inFlight();
+
+    // Distributions of the waiting and turnaround times of the processes completed so far
+    LatencyHistogram waitingTimes();
+
+    LatencyHistogram turnaroundTimes();
+
+    // Distribution of the response times of the processes that have started so far
+    LatencyHistogram responseTimes();
+}
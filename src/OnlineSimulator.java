@@ -0,0 +1,465 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Incremental simulator behind the online mode of the scheduling algorithms.
+// Each in-flight process occupies a slot that is recycled when it completes,
+// so memory grows with the number of in-flight processes rather than with history.
+// Context switches are charged like the batch schedulers charge them. Processes of equal rank
+// run in submission order, while the batch schedulers order them by arrival time and then by row,
+// except batch Preemptive Priority, which orders them by process ID. So a scheduler gives the same
+// completion times online as on a ProcessTable when the processes are submitted in that order, e.g.
+// rows sorted by arrival time with generated IDs; otherwise equal-rank processes may swap places.
+public class OnlineSimulator implements OnlineScheduler {
+    private final PolicyQueue.Order order; // Order of the ready queue; ties go to the earlier submission
+    private final boolean preemptive; // Whether an arrival can take the CPU from the running process
+    private final int timeQuantum;    // Slice length for round robin, 0 to run until done or preempted
+    private final int switchCost;     // Time to switch the CPU to a different process
+    private final int resumeCost;     // Time to dispatch the same process again right after its slice
+    private final int[] levelQuanta;  // MLFQ: time quantum of each level, top level first; null otherwise
+    private final int boostInterval;  // MLFQ: time between priority boosts, 0 to never boost
+    private final int agingInterval;  // Priority: waiting time that gains one priority level, 0 for no aging
+
+    // Per-slot process state
+    private long[] jobID;
+    private long[] sequence;         // Submission order, for ties; job IDs are chosen by callers
+    private int[] priority;
+    private long[] arrivalTime;
+    private int[] burstTime;
+    private long[] remainingTime;
+    private long[] startTime;        // -1 until the process first runs
+    private int[] level;             // MLFQ: current level of each process
+    private long[] used;             // MLFQ: time used of the quantum on the current level
+    private int usedSlots;           // Slots handed out so far; freed slots are reused first
+    private final IntRingBuffer freeSlots;
+
+    private final IntRingBuffer pending;    // Submitted processes that have not arrived yet, in arrival order
+    private final PolicyQueue readyQueue;
+
+    private int running = -1;     // Slot of the running process, -1 when the CPU is free
+    private long sliceStart;      // Time the running process started its slice, after any switch
+    private long switchEnd;       // End of the context switch to the running process
+    private long nextBoost = Long.MAX_VALUE; // MLFQ: time of the next priority boost
+    private int previous = -1;    // Slot the CPU last switched to; -1 at the start and after idle time,
+                                  // -2 once that process has completed
+    private long currentTime;     // Time the simulation has advanced to
+    private long lastArrival;     // Latest arrival time submitted so far
+    private long nextJobID;       // ID handed to the next submission without one
+    private long nextSequence;
+    private int inFlight;         // Submitted processes that have not completed
+    private List<CompletedJob> completed = new ArrayList<>();
+
+    // Latency distributions, fed as processes start and complete
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+    private OnlineSimulator(PolicyQueue.Order order, boolean preemptive, int timeQuantum, int switchCost,
+                            int resumeCost) {
+        this(order, preemptive, timeQuantum, switchCost, resumeCost, 0, null, 0);
+    }
+
+    private OnlineSimulator(PolicyQueue.Order order, boolean preemptive, int timeQuantum, int switchCost,
+                            int resumeCost, int agingInterval, int[] levelQuanta, int boostInterval) {
+        if (switchCost < 0 || resumeCost < 0) {
+            throw new IllegalArgumentException("Context switch costs must not be negative");
+        }
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval must not be negative: " + agingInterval);
+        }
+        this.order = order;
+        this.preemptive = preemptive;
+        this.timeQuantum = timeQuantum;
+        this.switchCost = switchCost;
+        this.resumeCost = resumeCost;
+        this.agingInterval = agingInterval;
+        this.levelQuanta = levelQuanta;
+        this.boostInterval = boostInterval;
+        if (boostInterval > 0) {
+            this.nextBoost = boostInterval;
+        }
+
+        int capacity = 16;
+        this.jobID = new long[capacity];
+        this.sequence = new long[capacity];
+        this.priority = new int[capacity];
+        this.arrivalTime = new long[capacity];
+        this.burstTime = new int[capacity];
+        this.remainingTime = new long[capacity];
+        this.startTime = new long[capacity];
+        this.freeSlots = new IntRingBuffer(capacity);
+        this.pending = new IntRingBuffer(capacity);
+        if (levelQuanta != null) {
+            this.level = new int[capacity];
+            this.used = new long[capacity];
+            this.readyQueue = new PolicyQueue(levelQuanta.length, capacity);
+        } else {
+            this.readyQueue = new PolicyQueue(order, capacity);
+        }
+    }
+
+    // First-Come, First-Served: run to completion in arrival order
+    public static OnlineSimulator fcfs() {
+        return new OnlineSimulator(PolicyQueue.Order.FIFO, false, 0, 0, 0);
+    }
+
+    // Shortest Job First: run the shortest arrived burst to completion
+    public static OnlineSimulator sjf() {
+        return new OnlineSimulator(PolicyQueue.Order.BURST, false, 0, 0, 0);
+    }
+
+    // Shortest Remaining Time First: arrivals with strictly less remaining time preempt
+    public static OnlineSimulator srtf() {
+        return srtf(0);
+    }
+
+    // SRTF that charges switchCost every time the CPU changes process, like SRTFClass
+    public static OnlineSimulator srtf(int switchCost) {
+        return new OnlineSimulator(PolicyQueue.Order.REMAINING, true, 0, switchCost, 0);
+    }
+
+    // Priority scheduling (lower value first), optionally preempting on arrivals of strictly higher priority
+    public static OnlineSimulator priority(boolean preemptive) {
+        return priority(preemptive, 0);
+    }
+
+    // Priority scheduling that charges switchCost every time the CPU changes process, like
+    // PreemptivePriorityClass; the non-preemptive variant never charges switches
+    public static OnlineSimulator priority(boolean preemptive, int switchCost) {
+        return priority(preemptive, switchCost, 0);
+    }
+
+    // Same as above with the aging of the priority schedulers: a waiting process gains one priority
+    // level per agingInterval it has waited, and with preemption one that reaches a higher level than
+    // the running process takes the CPU. An agingInterval of 0 turns aging off.
+    public static OnlineSimulator priority(boolean preemptive, int switchCost, int agingInterval) {
+        if (!preemptive && switchCost != 0) {
+            throw new IllegalArgumentException("Non-preemptive priority has no context switch cost");
+        }
+        return new OnlineSimulator(PolicyQueue.Order.PRIORITY, preemptive, 0, switchCost, 0, agingInterval,
+                null, 0);
+    }
+
+    // Round Robin: FIFO order with at most one time quantum per dispatch
+    public static OnlineSimulator roundRobin(int timeQuantum) {
+        return roundRobin(timeQuantum, 0, 0);
+    }
+
+    // Round Robin with the context switch costs of RoundRobinClass: switchCost when the CPU moves
+    // to a different process, resumeCost when the same process follows itself after its quantum
+    public static OnlineSimulator roundRobin(int timeQuantum, int switchCost, int resumeCost) {
+        if (timeQuantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+        }
+        return new OnlineSimulator(PolicyQueue.Order.FIFO, false, timeQuantum, switchCost, resumeCost);
+    }
+
+    // Multilevel Feedback Queue with the levels of MLFQClass: arrivals enter the top level and
+    // preempt a process running below it, a process that uses up its quantum moves down one level,
+    // and every boostInterval (unless 0) all processes go back to the top level
+    public static OnlineSimulator mlfq(int[] quanta, int boostInterval) {
+        if (quanta.length == 0 || quanta.length > 64) {
+            throw new IllegalArgumentException("MLFQ needs between 1 and 64 levels: " + quanta.length);
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be positive: " + quantum);
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("Boost interval must not be negative: " + boostInterval);
+        }
+        return new OnlineSimulator(PolicyQueue.Order.LEVEL, true, 0, 0, 0, 0, quanta.clone(), boostInterval);
+    }
+
+    @Override
+    public long submit(int priority, long arrivalTime, int burstTime) {
+        return submit(nextJobID, priority, arrivalTime, burstTime);
+    }
+
+    @Override
+    public long submit(long jobID, int priority, long arrivalTime, int burstTime) {
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Burst time must be positive: " + burstTime);
+        }
+        if (arrivalTime < currentTime || arrivalTime < lastArrival) {
+            throw new IllegalArgumentException("Arrival time " + arrivalTime + " is earlier than time "
+                    + Math.max(currentTime, lastArrival));
+        }
+
+        int slot = allocateSlot();
+        this.jobID[slot] = jobID;
+        this.sequence[slot] = nextSequence++;
+        this.priority[slot] = priority;
+        this.arrivalTime[slot] = arrivalTime;
+        this.burstTime[slot] = burstTime;
+        this.remainingTime[slot] = burstTime;
+        this.startTime[slot] = -1;
+        if (levelQuanta != null) {
+            this.level[slot] = 0;
+            this.used[slot] = 0;
+        }
+        lastArrival = arrivalTime;
+        pending.offer(slot);
+        inFlight++;
+        nextJobID = Math.max(nextJobID, jobID + 1);
+        return jobID;
+    }
+
+    @Override
+    public void advanceTo(long time) {
+        if (time < currentTime) {
+            throw new IllegalArgumentException("Cannot go back from time " + currentTime + " to " + time);
+        }
+
+        while (true) {
+            // Decisions at the requested time wait for the next call, so processes
+            // arriving exactly then can still be submitted and take part in them
+            if (currentTime >= time) {
+                currentTime = time;
+                return;
+            }
+
+            // A context switch is never interrupted; arrivals during it are considered once it ends
+            if (currentTime < switchEnd) {
+                if (switchEnd > time) {
+                    currentTime = time;
+                    return;
+                }
+                currentTime = switchEnd;
+                sliceStart = switchEnd;
+                continue;
+            }
+
+            // Arrivals join the ready queue at dispatch points, or at once when they may preempt.
+            // For round robin this keeps an expired process ahead of arrivals during its slice.
+            // Before an MLFQ boost they join first, ahead of the processes moved up.
+            if (running == -1 || arrivalsPreempt() || currentTime >= nextBoost) {
+                admitArrivals();
+            }
+            if (currentTime >= nextBoost) {
+                boost();
+            }
+
+            // Preempt the running process only if a ready one outranks it
+            if (running != -1 && preemptive && !readyQueue.isEmpty() && outranksRunning()) {
+                makeReady(running);
+                running = -1;
+            }
+
+            if (running == -1) {
+                if (readyQueue.isEmpty()) {
+                    // Idle until the next arrival, or until the requested time if it comes first.
+                    // The first dispatch after idle time costs no switch.
+                    previous = -1;
+                    if (pending.isEmpty() || arrivalTime[pending.peek()] > time) {
+                        currentTime = time;
+                        return;
+                    }
+                    currentTime = arrivalTime[pending.peek()];
+                    continue;
+                }
+                running = readyQueue.poll();
+                sliceStart = currentTime;
+                long cost = previous == -1 ? 0 : previous == running ? resumeCost : switchCost;
+                previous = running;
+                if (cost > 0) {
+                    switchEnd = currentTime + cost;
+                    continue;
+                }
+            }
+
+            // The process starts when it first runs, after the switch to it
+            if (startTime[running] == -1) {
+                startTime[running] = currentTime;
+                responseTimes.record(currentTime - arrivalTime[running]);
+            }
+
+            // Run until completion, the end of the quantum, the next MLFQ boost,
+            // or (if arrivals may preempt) the next arrival
+            long runUntil = currentTime + remainingTime[running];
+            if (timeQuantum > 0) {
+                runUntil = Math.min(runUntil, sliceStart + timeQuantum);
+            }
+            if (levelQuanta != null) {
+                runUntil = Math.min(runUntil, currentTime + levelQuanta[level[running]] - used[running]);
+                runUntil = Math.min(runUntil, nextBoost);
+            }
+            if (arrivalsPreempt() && !pending.isEmpty()) {
+                runUntil = Math.min(runUntil, arrivalTime[pending.peek()]);
+            }
+            // With aging, also stop when the best waiting process gains the level that outranks
+            // the running one, as PreemptivePriorityClass does
+            if (preemptive && agingInterval > 0 && !readyQueue.isEmpty()) {
+                long runningLevel = agedPriority(primaryKey(running));
+                runUntil = Math.min(runUntil, readyQueue.peekKey() - (runningLevel - 1) * agingInterval);
+            }
+            if (runUntil > time) {
+                runTo(time);
+                return;
+            }
+            runTo(runUntil);
+
+            if (remainingTime[running] == 0) {
+                complete(running);
+                running = -1;
+            } else if (timeQuantum > 0 && currentTime - sliceStart >= timeQuantum) {
+                // Quantum expired: back of the queue, ahead of processes that arrived during the slice
+                makeReady(running);
+                running = -1;
+            } else if (levelQuanta != null && used[running] == levelQuanta[level[running]]) {
+                // MLFQ quantum used up: one level down, behind the processes already waiting there
+                level[running] = Math.min(level[running] + 1, levelQuanta.length - 1);
+                used[running] = 0;
+                makeReady(running);
+                running = -1;
+            }
+        }
+    }
+
+    @Override
+    public List<CompletedJob> drainCompleted() {
+        List<CompletedJob> drained = completed;
+        completed = new ArrayList<>();
+        return drained;
+    }
+
+    @Override
+    public long currentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public LatencyHistogram waitingTimes() {
+        return waitingTimes;
+    }
+
+    @Override
+    public LatencyHistogram turnaroundTimes() {
+        return turnaroundTimes;
+    }
+
+    @Override
+    public LatencyHistogram responseTimes() {
+        return responseTimes;
+    }
+
+    // Whether the head of the ready queue should take the CPU from the running process: a strictly
+    // smaller key, or for priorities an equal key submitted earlier. Batch Preemptive Priority decides
+    // equal keys by process ID instead. With aging, only a strictly higher priority level counts.
+    private boolean outranksRunning() {
+        long runningKey = primaryKey(running);
+        if (order == PolicyQueue.Order.PRIORITY && agingInterval > 0) {
+            return agedPriority(readyQueue.peekKey()) < agedPriority(runningKey);
+        }
+        return readyQueue.peekKey() < runningKey || (order == PolicyQueue.Order.PRIORITY
+                && readyQueue.peekKey() == runningKey && readyQueue.peekSequence() < sequence[running]);
+    }
+
+    // Whether an arrival may take the CPU from the running process; in MLFQ only below the top level
+    private boolean arrivalsPreempt() {
+        return preemptive && (levelQuanta == null || (running != -1 && level[running] > 0));
+    }
+
+    // Lets the running process run until the given time
+    private void runTo(long until) {
+        remainingTime[running] -= until - currentTime;
+        if (levelQuanta != null) {
+            used[running] += until - currentTime;
+        }
+        currentTime = until;
+    }
+
+    // MLFQ priority boost: the running process and every waiting process go back to the top level
+    private void boost() {
+        readyQueue.promoteAll(slot -> {
+            level[slot] = 0;
+            used[slot] = 0;
+        });
+        if (running != -1) {
+            level[running] = 0;
+            used[running] = 0;
+        }
+        nextBoost = (currentTime / boostInterval + 1) * boostInterval;
+    }
+
+    // Moves every pending process that has arrived by the current time into the ready queue
+    private void admitArrivals() {
+        while (!pending.isEmpty() && arrivalTime[pending.peek()] <= currentTime) {
+            makeReady(pending.poll());
+        }
+    }
+
+    private void makeReady(int slot) {
+        readyQueue.add(slot, primaryKey(slot), sequence[slot]);
+    }
+
+    private long primaryKey(int slot) {
+        switch (order) {
+            case BURST:
+                return burstTime[slot];
+            case REMAINING:
+                return remainingTime[slot];
+            case PRIORITY:
+                if (agingInterval == 0) {
+                    return priority[slot];
+                }
+                // Aged priority scaled by agingInterval, leaving out the floor and the current time as
+                // PreemptivePriorityClass does: fixed while waiting, growing while running
+                return (long) priority[slot] * agingInterval + arrivalTime[slot]
+                        + burstTime[slot] - remainingTime[slot];
+            case LEVEL:
+                return level[slot];
+            default:
+                return 0;
+        }
+    }
+
+    // Effective priority now of a process with the given aged PRIORITY key:
+    // priority - floor(waited / agingInterval)
+    private long agedPriority(long key) {
+        return -Math.floorDiv(currentTime - key, agingInterval);
+    }
+
+    private void complete(int slot) {
+        long turnaroundTime = currentTime - arrivalTime[slot];
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(turnaroundTime - burstTime[slot]);
+        completed.add(new CompletedJob(jobID[slot], priority[slot], arrivalTime[slot], burstTime[slot],
+                startTime[slot], currentTime));
+        freeSlots.offer(slot);
+        inFlight--;
+        if (previous == slot) {
+            previous = -2; // The slot may be reused, but the next dispatch is still a switch
+        }
+    }
+
+    // Reuses a freed slot, or hands out a new one and grows the slot arrays when they are full
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.poll();
+        }
+        if (usedSlots == jobID.length) {
+            int capacity = jobID.length * 2;
+            jobID = Arrays.copyOf(jobID, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+            burstTime = Arrays.copyOf(burstTime, capacity);
+            remainingTime = Arrays.copyOf(remainingTime, capacity);
+            startTime = Arrays.copyOf(startTime, capacity);
+            if (levelQuanta != null) {
+                level = Arrays.copyOf(level, capacity);
+                used = Arrays.copyOf(used, capacity);
+            }
+            freeSlots.ensureCapacity(capacity);
+            pending.ensureCapacity(capacity);
+        }
+        return usedSlots++;
+    }
+}
@@ -0,0 +1,455 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ExecutorService that orders real tasks with the scheduling policies of the simulators.
+//
+// Every task runs on its own thread from the given ThreadFactory, but only `cores` of them hold
+// the CPU at a time; the others wait in a PolicyQueue ordered like the simulators order processes:
+// FIFO, shortest cost estimate, or lowest priority value, ties in submission order. Tasks are
+// cooperative: a task that calls PolicyExecutor.yieldPoint() gives up its core when its round robin
+// quantum has expired, or (preemptive priority) when a task with a strictly lower priority value is
+// waiting, and continues once the policy picks it again. Elsewhere yieldPoint() does nothing.
+//
+// Thread-per-task is meant for virtual threads: on Java 21+ pass Thread.ofVirtual().factory().
+// Any other factory, e.g. Executors.defaultThreadFactory(), works the same with platform threads.
+// A task's thread is created when the task is submitted and started when it first gets a core;
+// a task whose thread cannot be started then is dropped, and cancelled if it is a Future.
+//
+// Waiting, turnaround and response times are measured on the real tasks in microseconds, waiting
+// time being turnaround time minus the time the task held a core.
+public class PolicyExecutor extends AbstractExecutorService {
+    private static final ThreadLocal<Worker> CURRENT = new ThreadLocal<>();
+
+    private final boolean preemptive;  // Whether a waiting task of lower rank preempts at yield points
+    private final long quantumNanos;   // Slice length for round robin, 0 to run until done
+    private final int cores;           // Tasks that may hold the CPU at once
+    private final ThreadFactory threadFactory;
+    private final String name;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition terminated = lock.newCondition();
+
+    // Per-slot task state, guarded by lock
+    private Runnable[] task;
+    private Thread[] thread;         // Thread of each task, started when the task first gets a core
+    private long[] rank;             // Cost estimate or priority
+    private long[] sequence;         // Submission order, for ties
+    private long[] submitTime;
+    private long[] firstRunTime;     // -1 until the task first ran
+    private long[] sliceStart;       // Time the task last got a core
+    private long[] runTime;          // Time the task held a core, up to its last yield
+    private boolean[] granted;       // Set when a started task that yielded may continue
+    private int usedSlots;           // Slots handed out so far; freed slots are reused first
+    private final IntRingBuffer freeSlots;
+
+    private final PolicyQueue readyQueue; // Ties go to the earlier submission
+
+    private int running;             // Tasks holding a core
+    private int inFlight;            // Submitted tasks that have not finished
+    private long nextSequence;
+    private boolean shutdown;
+    private Throwable startFailure;  // Why the thread of the last dropped task could not start
+
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+    private PolicyExecutor(String name, PolicyQueue.Order order, boolean preemptive, long quantumNanos, int cores,
+                           ThreadFactory threadFactory) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Number of cores must be positive: " + cores);
+        }
+        this.name = name;
+        this.preemptive = preemptive;
+        this.quantumNanos = quantumNanos;
+        this.cores = cores;
+        this.threadFactory = Objects.requireNonNull(threadFactory);
+
+        int capacity = 16;
+        this.task = new Runnable[capacity];
+        this.thread = new Thread[capacity];
+        this.rank = new long[capacity];
+        this.sequence = new long[capacity];
+        this.submitTime = new long[capacity];
+        this.firstRunTime = new long[capacity];
+        this.sliceStart = new long[capacity];
+        this.runTime = new long[capacity];
+        this.granted = new boolean[capacity];
+        this.freeSlots = new IntRingBuffer(capacity);
+        this.readyQueue = new PolicyQueue(order, capacity);
+    }
+
+    // First-Come, First-Served: tasks run to completion in submission order
+    public static PolicyExecutor fcfs(int cores, ThreadFactory threadFactory) {
+        return new PolicyExecutor("FCFS", PolicyQueue.Order.FIFO, false, 0, cores, threadFactory);
+    }
+
+    // Shortest Job First: the waiting task with the smallest cost estimate runs next, to completion
+    public static PolicyExecutor sjf(int cores, ThreadFactory threadFactory) {
+        return new PolicyExecutor("SJF", PolicyQueue.Order.BURST, false, 0, cores, threadFactory);
+    }
+
+    // Priority (lower value first), optionally preempting at yield points for strictly higher priority
+    public static PolicyExecutor priority(boolean preemptive, int cores, ThreadFactory threadFactory) {
+        return new PolicyExecutor(preemptive ? "Preemptive Priority" : "Non-Preemptive Priority",
+                PolicyQueue.Order.PRIORITY, preemptive, 0, cores, threadFactory);
+    }
+
+    // Round Robin: FIFO order, a task that reaches a yield point after its quantum goes to the back
+    public static PolicyExecutor roundRobin(long quantum, TimeUnit unit, int cores, ThreadFactory threadFactory) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + quantum);
+        }
+        return new PolicyExecutor("Round Robin (q=" + quantum + " " + unit.toString().toLowerCase() + ")",
+                PolicyQueue.Order.FIFO, false, unit.toNanos(quantum), cores, threadFactory);
+    }
+
+    // Lets the task running on the current thread give up its core if its executor's policy says so.
+    // Does nothing on threads that are not running a PolicyExecutor task.
+    public static void yieldPoint() {
+        Worker worker = CURRENT.get();
+        if (worker != null) {
+            worker.executor.yieldAt(worker.slot);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(command, 0);
+    }
+
+    // Runs a task with a rank: the cost estimate for SJF, the priority for the priority policies.
+    // FCFS and Round Robin ignore it; tasks submitted without a rank have rank 0.
+    public void execute(Runnable command, long rank) {
+        Objects.requireNonNull(command);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException(name + " executor has been shut down");
+            }
+            // Create the thread first, so a failing ThreadFactory leaves no trace
+            int slot = allocateSlot();
+            Thread worker;
+            try {
+                worker = threadFactory.newThread(new Worker(this, slot)::run);
+            } catch (RuntimeException e) {
+                freeSlots.offer(slot);
+                throw new RejectedExecutionException("ThreadFactory failed", e);
+            }
+            if (worker == null) {
+                freeSlots.offer(slot);
+                throw new RejectedExecutionException("ThreadFactory returned no thread");
+            }
+            this.task[slot] = command;
+            this.thread[slot] = worker;
+            this.rank[slot] = rank;
+            this.sequence[slot] = nextSequence++;
+            this.submitTime[slot] = System.nanoTime();
+            this.firstRunTime[slot] = -1;
+            this.runTime[slot] = 0;
+            this.granted[slot] = false;
+            inFlight++;
+            makeReady(slot);
+            dispatch();
+            if (task[slot] != command) {
+                throw new RejectedExecutionException("Cannot start the thread of the task", startFailure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> Future<T> submit(Callable<T> callable, long rank) {
+        FutureTask<T> future = new FutureTask<>(callable);
+        execute(future, rank);
+        return future;
+    }
+
+    public Future<?> submit(Runnable runnable, long rank) {
+        FutureTask<Void> future = new FutureTask<>(runnable, null);
+        execute(future, rank);
+        return future;
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (inFlight == 0) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops accepting tasks, returns the ones that never started and interrupts the started ones.
+    // Started tasks waiting at a yield point are let through, beyond the core limit, so they can
+    // see the interrupt.
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> neverStarted = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            while (!readyQueue.isEmpty()) {
+                int slot = readyQueue.poll();
+                if (firstRunTime[slot] == -1) {
+                    neverStarted.add(task[slot]);
+                    release(slot);
+                } else {
+                    running++;
+                    sliceStart[slot] = System.nanoTime();
+                    granted[slot] = true;
+                    LockSupport.unpark(thread[slot]);
+                }
+            }
+            for (int slot = 0; slot < usedSlots; slot++) {
+                if (thread[slot] != null && firstRunTime[slot] != -1) {
+                    thread[slot].interrupt();
+                }
+            }
+            if (inFlight == 0) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return neverStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        lock.lock();
+        try {
+            return shutdown && inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!(shutdown && inFlight == 0)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Snapshots of the latency distributions of the tasks completed so far, in microseconds
+    public LatencyHistogram waitingTimes() {
+        return snapshot(waitingTimes);
+    }
+
+    public LatencyHistogram turnaroundTimes() {
+        return snapshot(turnaroundTimes);
+    }
+
+    public LatencyHistogram responseTimes() {
+        return snapshot(responseTimes);
+    }
+
+    // Gives free cores to the tasks at the head of the ready queue, starting or resuming their threads.
+    // A task whose thread fails to start is dropped and its core goes to the next task.
+    private void dispatch() {
+        while (running < cores && !readyQueue.isEmpty()) {
+            int slot = readyQueue.poll();
+            long now = System.nanoTime();
+            if (firstRunTime[slot] == -1) {
+                try {
+                    thread[slot].start();
+                } catch (RuntimeException | OutOfMemoryError e) {
+                    startFailure = e;
+                    drop(slot);
+                    continue;
+                }
+                firstRunTime[slot] = now;
+            } else {
+                granted[slot] = true;
+                LockSupport.unpark(thread[slot]);
+            }
+            running++;
+            sliceStart[slot] = now;
+        }
+    }
+
+    // Called from a task's own thread: requeues the task and waits for the CPU when the policy says so
+    private void yieldAt(int slot) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            boolean yield;
+            if (readyQueue.isEmpty() || shutdown) {
+                yield = false;
+            } else if (quantumNanos > 0) {
+                yield = now - sliceStart[slot] >= quantumNanos;
+            } else {
+                yield = preemptive && readyQueue.peekKey() < rank[slot];
+            }
+            if (!yield) {
+                return;
+            }
+
+            runTime[slot] += now - sliceStart[slot];
+            running--;
+            granted[slot] = false;
+            makeReady(slot);
+            dispatch();
+            // An interrupt would make park() return at once, so it is cleared while waiting
+            // for the core and raised again once the task holds it
+            boolean interrupted = false;
+            while (!granted[slot]) {
+                lock.unlock();
+                try {
+                    LockSupport.park(this);
+                } finally {
+                    lock.lock();
+                }
+                interrupted |= Thread.interrupted();
+            }
+            granted[slot] = false;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called from a task's own thread when the task has finished
+    private void complete(int slot) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long turnaroundTime = now - submitTime[slot];
+            long heldTime = runTime[slot] + (now - sliceStart[slot]);
+            turnaroundTimes.record(turnaroundTime / 1000);
+            waitingTimes.record((turnaroundTime - heldTime) / 1000);
+            responseTimes.record((firstRunTime[slot] - submitTime[slot]) / 1000);
+            running--;
+            release(slot);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Frees the slot of a finished or dropped task
+    private void release(int slot) {
+        task[slot] = null;
+        thread[slot] = null;
+        freeSlots.offer(slot);
+        inFlight--;
+        if (shutdown && inFlight == 0) {
+            terminated.signalAll();
+        }
+    }
+
+    // Frees the slot of a task that will never run; a Future is cancelled so nobody waits for it
+    private void drop(int slot) {
+        if (task[slot] instanceof Future) {
+            ((Future<?>) task[slot]).cancel(false);
+        }
+        release(slot);
+    }
+
+    private void makeReady(int slot) {
+        readyQueue.add(slot, rank[slot], sequence[slot]);
+    }
+
+    private LatencyHistogram snapshot(LatencyHistogram histogram) {
+        LatencyHistogram copy = new LatencyHistogram();
+        lock.lock();
+        try {
+            copy.add(histogram);
+        } finally {
+            lock.unlock();
+        }
+        return copy;
+    }
+
+    // Reuses a freed slot, or hands out a new one and grows the slot arrays when they are full
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.poll();
+        }
+        if (usedSlots == task.length) {
+            int capacity = task.length * 2;
+            task = Arrays.copyOf(task, capacity);
+            thread = Arrays.copyOf(thread, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+            submitTime = Arrays.copyOf(submitTime, capacity);
+            firstRunTime = Arrays.copyOf(firstRunTime, capacity);
+            sliceStart = Arrays.copyOf(sliceStart, capacity);
+            runTime = Arrays.copyOf(runTime, capacity);
+            granted = Arrays.copyOf(granted, capacity);
+            freeSlots.ensureCapacity(capacity);
+        }
+        return usedSlots++;
+    }
+
+    // Body of a task's thread: runs the task with the executor's bookkeeping around it
+    private static final class Worker {
+        final PolicyExecutor executor;
+        final int slot;
+
+        Worker(PolicyExecutor executor, int slot) {
+            this.executor = executor;
+            this.slot = slot;
+        }
+
+        void run() {
+            Runnable command;
+            executor.lock.lock();
+            try {
+                command = executor.task[slot];
+            } finally {
+                executor.lock.unlock();
+            }
+            CURRENT.set(this);
+            try {
+                command.run();
+            } finally {
+                CURRENT.remove();
+                executor.complete(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Ready queue of slot indices shared by everything that keeps its processes or tasks in slots
+// (OnlineSimulator, MultiCoreScheduler, PolicyExecutor). FIFO order keeps slots in the order they were added,
+// and LEVEL order keeps one FIFO queue per level and serves the lowest level first, as in MLFQ.
+// The other orders pick the smallest key and break ties with the smallest sequence number,
+// e.g. submission or arrival order, so ties never depend on how slots are numbered.
+//
+// Keyed slots are held in entries of an IndexHeap that are recycled as the queue drains,
+// so memory grows with the length of the queue rather than with the largest slot index.
+public class PolicyQueue {
+    // What the key of the queued slots is; FIFO ignores keys
+    public enum Order { FIFO, BURST, REMAINING, PRIORITY, LEVEL }
+
+    private final Order order;
+    private final IntRingBuffer fifoQueue;     // Slots in FIFO order
+    private final IntRingBuffer[] levelQueues; // Slots of each level in LEVEL order
+    private long nonEmpty;                     // Bit l is set while level l has slots
+    private final SequencedHeap keyedQueue;    // Entries of the other orders
+    private int[] entrySlot;                   // Slot held by each heap entry
+    private final IntRingBuffer freeEntries;
+    private int usedEntries;                   // Entries handed out so far; freed entries are reused first
+    private int capacity;                      // Slots the queue can hold before it grows
+    private int size;
+
+    // Creates an empty queue that grows beyond the given capacity as needed; LEVEL order gets one level
+    public PolicyQueue(Order order, int capacity) {
+        this(order, 1, capacity);
+    }
+
+    // Creates an empty LEVEL queue with the given number of levels, at most 64; keys are levels
+    public PolicyQueue(int levels, int capacity) {
+        this(Order.LEVEL, levels, capacity);
+    }
+
+    private PolicyQueue(Order order, int levels, int capacity) {
+        if (levels <= 0 || levels > 64) {
+            throw new IllegalArgumentException("Number of levels must be between 1 and 64: " + levels);
+        }
+        this.order = order;
+        this.capacity = Math.max(1, capacity);
+        this.fifoQueue = order == Order.FIFO ? new IntRingBuffer(this.capacity) : null;
+        if (order == Order.LEVEL) {
+            this.levelQueues = new IntRingBuffer[levels];
+            for (int level = 0; level < levels; level++) {
+                levelQueues[level] = new IntRingBuffer(Math.min(this.capacity, 16));
+            }
+        } else {
+            this.levelQueues = null;
+        }
+        if (order == Order.FIFO || order == Order.LEVEL) {
+            this.keyedQueue = null;
+            this.freeEntries = null;
+        } else {
+            this.keyedQueue = new SequencedHeap(this.capacity);
+            this.entrySlot = new int[this.capacity];
+            this.freeEntries = new IntRingBuffer(this.capacity);
+        }
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    // Adds a slot with its ordering key and tie-breaking sequence number. FIFO order ignores both,
+    // LEVEL order takes the key as the level and ignores the sequence number.
+    public void add(int slot, long key, long sequence) {
+        if (size == capacity) {
+            grow();
+        }
+        size++;
+        if (fifoQueue != null) {
+            fifoQueue.offer(slot);
+            return;
+        }
+        if (levelQueues != null) {
+            // Levels grow one by one, so they never hold much more than the queued slots together
+            IntRingBuffer queue = levelQueues[(int) key];
+            queue.ensureCapacity(queue.size() + 1);
+            queue.offer(slot);
+            nonEmpty |= 1L << key;
+            return;
+        }
+        int entry = freeEntries.isEmpty() ? usedEntries++ : freeEntries.poll();
+        entrySlot[entry] = slot;
+        keyedQueue.add(entry, key, sequence);
+    }
+
+    // Removes and returns the slot that should run next
+    public int poll() {
+        size--;
+        if (fifoQueue != null) {
+            return fifoQueue.poll();
+        }
+        if (levelQueues != null) {
+            int level = Long.numberOfTrailingZeros(nonEmpty);
+            int slot = levelQueues[level].poll();
+            if (levelQueues[level].isEmpty()) {
+                nonEmpty &= ~(1L << level);
+            }
+            return slot;
+        }
+        int entry = keyedQueue.poll();
+        freeEntries.offer(entry);
+        return entrySlot[entry];
+    }
+
+    // Key of the next slot. FIFO queues never outrank a running process, so they report Long.MAX_VALUE.
+    public long peekKey() {
+        if (fifoQueue != null) {
+            return Long.MAX_VALUE;
+        }
+        return levelQueues != null ? Long.numberOfTrailingZeros(nonEmpty) : keyedQueue.peekKey();
+    }
+
+    // Sequence number of the next slot in a keyed queue
+    public long peekSequence() {
+        return keyedQueue.tieBreaker(keyedQueue.peek());
+    }
+
+    // LEVEL order: moves the slots of every lower level to the back of the top level, one level
+    // after the other, and hands each moved slot to the callback
+    public void promoteAll(IntConsumer promoted) {
+        for (int level = 1; level < levelQueues.length; level++) {
+            while (!levelQueues[level].isEmpty()) {
+                int slot = levelQueues[level].poll();
+                levelQueues[0].ensureCapacity(levelQueues[0].size() + 1);
+                levelQueues[0].offer(slot);
+                promoted.accept(slot);
+            }
+        }
+        nonEmpty = size == 0 ? 0 : 1L;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        capacity *= 2;
+        if (fifoQueue != null) {
+            fifoQueue.ensureCapacity(capacity);
+        } else if (levelQueues == null) {
+            keyedQueue.ensureCapacity(capacity);
+            entrySlot = Arrays.copyOf(entrySlot, capacity);
+            freeEntries.ensureCapacity(capacity);
+        }
+    }
+
+    // IndexHeap whose equal keys are ordered by a sequence number stored per entry
+    private static final class SequencedHeap extends IndexHeap {
+        private long[] sequence;
+
+        SequencedHeap(int capacity) {
+            super(capacity);
+            this.sequence = new long[capacity];
+        }
+
+        void add(int entry, long key, long sequence) {
+            this.sequence[entry] = sequence;
+            add(entry, key);
+        }
+
+        @Override
+        public void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (capacity > sequence.length) {
+                sequence = Arrays.copyOf(sequence, capacity);
+            }
+        }
+
+        @Override
+        protected long tieBreaker(int entry) {
+            return sequence[entry];
+        }
+    }
+}
@@ -1,159 +1,208 @@
 // Coded by: Jossel John Dumaop
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 
-public class PreemptivePriorityClass {
-    // List of processes, ready queue, and completed processes
-    private ArrayList<PriorityProcess> processes = new ArrayList<>();
-    private ArrayList<PriorityProcess> readyQueue = new ArrayList<>();
-    private ArrayList<PriorityProcess> completedProcesses = new ArrayList<>();
+public class PreemptivePriorityClass implements Scheduler {
+    // Processes added through addProcess
+    private final ProcessTable processes = new ProcessTable();
+
+    // Time to switch the CPU from one process to another
+    private final int switchCost;
+
+    // Waiting time that improves the priority of a waiting process by one level, 0 for no aging
+    private final int agingInterval;
+
+    public PreemptivePriorityClass() {
+        this(0, 0);
+    }
+
+    // Creates a preemptive priority scheduler that charges switchCost every time the CPU changes process
+    public PreemptivePriorityClass(int switchCost) {
+        this(switchCost, 0);
+    }
+
+    // Creates a preemptive priority scheduler with context switch cost and aging
+    public PreemptivePriorityClass(int switchCost, int agingInterval) {
+        if (switchCost < 0) {
+            throw new IllegalArgumentException("Context switch cost must not be negative: " + switchCost);
+        }
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval must not be negative: " + agingInterval);
+        }
+        this.switchCost = switchCost;
+        this.agingInterval = agingInterval;
+    }
 
     // Method to add a process with a specified ID
     public void addProcess(String processID, int priority, int arrivalTime, int burstTime) {
-        PriorityProcess process = new PriorityProcess(processID, priority, arrivalTime, burstTime);
-        processes.add(process);
+        processes.add(processID, priority, arrivalTime, burstTime);
     }
 
     // Method to add a process with an auto-generated ID
     public void addProcess(int priority, int arrivalTime, int burstTime) {
-        String processID = String.valueOf((char) ('A' + processes.size())); // Generate ID from A, B, C...
-        addProcess(processID, priority, arrivalTime, burstTime);
+        processes.add(priority, arrivalTime, burstTime); // ID is generated from the row: A, B, C...
     }
 
-    // Main execution method for the preemptive priority scheduling
+    @Override
+    public String getName() {
+        if (switchCost == 0 && agingInterval == 0) {
+            return "Preemptive Priority";
+        }
+        if (agingInterval == 0) {
+            return "Preemptive Priority (switch=" + switchCost + ")";
+        }
+        if (switchCost == 0) {
+            return "Preemptive Priority (aging=" + agingInterval + ")";
+        }
+        return "Preemptive Priority (switch=" + switchCost + ", aging=" + agingInterval + ")";
+    }
+
+    // Main execution method for the preemptive priority scheduling: schedules and displays the results
     public void execute() {
-        // Save original process order for the results table
-        ArrayList<PriorityProcess> originalProcesses = new ArrayList<>(processes);
+        new ConsoleRenderer(System.out).render(schedule(processes));
+    }
 
-        // Sort processes by arrival time
-        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
+    // Always runs the highest-priority arrived process, preempting on arrivals and, with aging,
+    // when a waiting process has waited long enough to outrank the running one
+    @Override
+    public ScheduleResult schedule(ProcessTable processes) {
+        ScheduleResult result = new ScheduleResult(getName(), processes);
+        int n = processes.size();
 
-        int currentTime = 0; // Current time in the simulation
-        int totalTurnaroundTime = 0; // Accumulates turnaround time for all processes
-        int totalWaitingTime = 0; // Accumulates waiting time for all processes
-        int idleTime = 0; // Tracks CPU idle time
+        // Rank processes by ID so the heap can break priority ties by process ID
+        int[] rankToIndex = processes.idOrder();
 
-        // Gantt chart components
-        StringBuilder ganttChartTop = new StringBuilder();
-        StringBuilder ganttChartBottom = new StringBuilder();
-        StringBuilder ganttChartTime = new StringBuilder();
+        // Arrival cursor: ranks sorted by arrival time, packed as (arrivalTime << 32 | rank)
+        long[] arrivalOrder = new long[n];
+        for (int rank = 0; rank < n; rank++) {
+            arrivalOrder[rank] = ((long) processes.arrivalTime(rankToIndex[rank]) << 32) | rank;
+        }
+        Arrays.sort(arrivalOrder);
 
-        String lastProcessID = null; // Tracks the last process ID for Gantt chart continuity
+        long[] remainingTime = new long[n]; // Remaining time of each rank
+        for (int rank = 0; rank < n; rank++) {
+            remainingTime[rank] = processes.burstTime(rankToIndex[rank]);
+        }
 
-        // Initialize Gantt chart with start time
-        ganttChartTime.append(String.format("%5d ", currentTime));
+        // Ready queue of the waiting processes, keyed by queueKey; ties go to the lower process ID
+        IndexHeap readyQueue = new IndexHeap(n);
+        int nextArrival = 0;  // Position of the next process to arrive in arrivalOrder
+        long currentTime = 0; // Current time in the simulation
+        int running = -1;     // Rank of the process holding the CPU, -1 when it is free
+        int segment = -1;     // Rank of the process in the open Gantt segment, -1 if none
+        long segmentStart = 0;
 
-        while (!processes.isEmpty() || !readyQueue.isEmpty()) {
+        while (nextArrival < n || !readyQueue.isEmpty() || running != -1) {
             // Move processes that have arrived by currentTime into the ready queue
-            while (!processes.isEmpty() && processes.get(0).arrivalTime <= currentTime) {
-                readyQueue.add(processes.remove(0));
+            while (nextArrival < n && (arrivalOrder[nextArrival] >>> 32) <= currentTime) {
+                int rank = (int) arrivalOrder[nextArrival++];
+                readyQueue.add(rank, queueKey(processes, rankToIndex[rank], remainingTime[rank]));
             }
-
-            // Sort ready queue by priority, breaking ties by process ID
-            readyQueue.sort(Comparator.comparingInt((PriorityProcess p) -> p.priority)
-                    .thenComparingInt(p -> p.processID.charAt(0)));
-
-            if (!readyQueue.isEmpty()) {
-                PriorityProcess currentProcess = readyQueue.remove(0);
-
-                // Set start time if the process is being executed for the first time
-                if (currentProcess.startTime == -1) {
-                    currentProcess.startTime = currentTime;
+            result.recordDecision(readyQueue.size());
+
+            // Preempt the running process when a waiting one outranks it. With aging the running
+            // process keeps the priority it had gained, while the waiting ones keep catching up, and
+            // it keeps the CPU until a waiting process reaches a strictly higher priority level.
+            if (running != -1 && !readyQueue.isEmpty()) {
+                long runningKey = queueKey(processes, rankToIndex[running], remainingTime[running]);
+                boolean outranked = agingInterval > 0
+                        ? agedPriority(readyQueue.peekKey(), currentTime) < agedPriority(runningKey, currentTime)
+                        : readyQueue.peekKey() < runningKey
+                                || (readyQueue.peekKey() == runningKey && readyQueue.peek() < running);
+                if (outranked) {
+                    result.recordPreemption(rankToIndex[running], currentTime);
+                    readyQueue.add(running, runningKey);
+                    running = -1;
                 }
+            }
 
-                // Calculate execution time for the process
-                int nextArrivalTime = processes.isEmpty() ? Integer.MAX_VALUE : processes.get(0).arrivalTime;
-                int executionTime = Math.min(currentProcess.remainingTime, nextArrivalTime - currentTime);
-
-                // Execute the process for the determined execution time
-                currentProcess.remainingTime -= executionTime;
-                currentTime += executionTime;
-
-                // Update Gantt chart if the process ID has changed
-                if (!currentProcess.processID.equals(lastProcessID)) {
-                    ganttChartTop.append("+-----");
-                    ganttChartBottom.append("|  ").append(currentProcess.processID).append("  ");
-
-                    // Ensure the current time is appended only once
-                    if (!ganttChartTime.toString().endsWith(String.format("%5d ", currentTime - executionTime))) {
-                        ganttChartTime.append(String.format("%5d ", currentTime - executionTime));
+            if (running == -1) {
+                // Handle CPU idle time: close the open segment and wait for the next arrival
+                if (readyQueue.isEmpty()) {
+                    if (segment != -1) {
+                        result.recordRun(rankToIndex[segment], segmentStart, currentTime);
+                        segment = -1;
                     }
-
-                    lastProcessID = currentProcess.processID;
+                    long nextArrivalTime = arrivalOrder[nextArrival] >>> 32;
+                    result.recordIdle(currentTime, nextArrivalTime);
+                    currentTime = nextArrivalTime; // Advance time to the next process arrival
+                    continue;
                 }
+                // Highest priority (lowest key) process, ties broken by process ID
+                running = readyQueue.poll();
+                result.recordDispatch(rankToIndex[running], currentTime);
+            }
 
-                // Process completion logic
-                if (currentProcess.remainingTime == 0) {
-                    currentProcess.completionTime = currentTime;
-                    currentProcess.turnAroundTime = currentProcess.completionTime - currentProcess.arrivalTime;
-                    currentProcess.waitingTime = currentProcess.turnAroundTime - currentProcess.burstTime;
-
-                    totalTurnaroundTime += currentProcess.turnAroundTime;
-                    totalWaitingTime += currentProcess.waitingTime;
-
-                    completedProcesses.add(currentProcess);
-                } else {
-                    // Re-add process to the ready queue if it is not yet completed
-                    readyQueue.add(currentProcess);
+            // Start a new Gantt segment when a different process takes the CPU
+            if (running != segment) {
+                boolean switching = segment != -1 && switchCost > 0;
+                if (segment != -1 && segmentStart < currentTime) {
+                    result.recordRun(rankToIndex[segment], segmentStart, currentTime);
                 }
-            } else {
-                // Handle CPU idle time
-                ganttChartTop.append("+-----");
-                ganttChartBottom.append("| /// ");
-
-                // Append idle time start to Gantt chart
-                if (!ganttChartTime.toString().endsWith(String.format("%5d ", currentTime))) {
-                    ganttChartTime.append(String.format("%5d ", currentTime));
+                segment = running;
+                if (switching) {
+                    // Arrivals during the switch are considered again before the process runs
+                    result.recordSwitch(currentTime, currentTime + switchCost);
+                    currentTime += switchCost;
+                    segmentStart = currentTime;
+                    continue;
                 }
+                segmentStart = currentTime;
+            }
 
-                idleTime += processes.get(0).arrivalTime - currentTime;
-                currentTime = processes.get(0).arrivalTime; // Advance time to the next process arrival
-                lastProcessID = null; // Reset process tracking for Gantt chart
+            // Run until the process completes or the next process arrives
+            long runUntil = currentTime + remainingTime[running];
+            if (nextArrival < n) {
+                runUntil = Math.min(runUntil, arrivalOrder[nextArrival] >>> 32);
             }
-        }
+            // With aging, also stop when the best waiting process gains the level that outranks the
+            // running one. Levels only change once per agingInterval of waiting, so processes of equal
+            // priority take turns in slices of about agingInterval rather than every time unit.
+            if (agingInterval > 0 && !readyQueue.isEmpty()) {
+                long runningKey = queueKey(processes, rankToIndex[running], remainingTime[running]);
+                long runningLevel = agedPriority(runningKey, currentTime);
+                runUntil = Math.min(runUntil, readyQueue.peekKey() - (runningLevel - 1) * agingInterval);
+            }
+            remainingTime[running] -= runUntil - currentTime;
+            currentTime = runUntil;
 
-        // Append final time to Gantt chart
-        if (!ganttChartTime.toString().endsWith(String.format("%5d ", currentTime))) {
-            ganttChartTime.append(String.format("%5d ", currentTime));
+            // Process completion logic
+            if (remainingTime[running] == 0) {
+                result.recordCompletion(rankToIndex[running], currentTime);
+                running = -1;
+            }
         }
-        ganttChartTop.append("+");
-        ganttChartBottom.append("|");
 
-        // Display results in a table and the Gantt chart
-        displayResults(totalTurnaroundTime, totalWaitingTime, idleTime, currentTime, ganttChartTop, ganttChartBottom, ganttChartTime, originalProcesses);
+        // Close the last Gantt segment
+        if (segment != -1) {
+            result.recordRun(rankToIndex[segment], segmentStart, currentTime);
+        }
+        result.finish();
+        return result;
     }
 
-    // Displays the results including process table, Gantt chart, and statistics
-    private void displayResults(int totalTurnaroundTime, int totalWaitingTime, int idleTime, int currentTime, StringBuilder ganttChartTop, StringBuilder ganttChartBottom, StringBuilder ganttChartTime, ArrayList<PriorityProcess> originalProcesses) {
-        System.out.println("\nProcess Table:");
-        System.out.println("Process\tPriority\tArrival Time\tBurst Time\tCompletion Time\tTurnaround Time\tWaiting Time");
-
-        // Iterate through original process list for table display
-        for (PriorityProcess p : originalProcesses) {
-            // Locate and display completed process details
-            for (PriorityProcess completedProcess : completedProcesses) {
-                if (completedProcess.processID.equals(p.processID)) {
-                    System.out.println(p.processID + "\t" + p.priority + "\t\t" + p.arrivalTime + "\t\t" + p.burstTime + "\t\t" + completedProcess.completionTime + "\t\t" + completedProcess.turnAroundTime + "\t\t" + completedProcess.waitingTime);
-                    break;
-                }
-            }
+    // Ready queue key of a process with the given remaining time. With aging, the effective priority
+    // is priority - floor(waited / agingInterval), where waited is the time since arrival not spent
+    // running. The key priority * agingInterval + arrival + time run is that without the floor and
+    // "now", so it orders waiting processes the same way at every time. It is fixed while a process
+    // waits, so nothing is rescanned, and grows with the time the process runs.
+    private long queueKey(ProcessTable processes, int index, long remainingTime) {
+        if (agingInterval == 0) {
+            return processes.priority(index);
         }
+        return (long) processes.priority(index) * agingInterval + processes.arrivalTime(index)
+                + processes.burstTime(index) - remainingTime;
+    }
+
+    // Effective priority at time now of a process with the given aged queue key:
+    // priority - floor(waited / agingInterval), which is ceil((key - now) / agingInterval)
+    private long agedPriority(long key, long now) {
+        return -Math.floorDiv(now - key, agingInterval);
+    }
 
-        // Print Gantt chart
-        System.out.println("\nGantt Chart:");
-        System.out.println(ganttChartTop.toString());
-        System.out.println(ganttChartBottom.toString());
-        System.out.println(ganttChartTop.toString());
-        System.out.println(ganttChartTime.toString().trim());
-
-        // Calculate and display averages and CPU utilization
-        double avgTurnaroundTime = (double) totalTurnaroundTime / completedProcesses.size();
-        double avgWaitingTime = (double) totalWaitingTime / completedProcesses.size();
-        double cpuUtilization = ((currentTime - idleTime) / (double) currentTime) * 100;
-
-        System.out.printf("\nAverage Turnaround Time: %.2f ms\n", avgTurnaroundTime);
-        System.out.printf("Average Waiting Time: %.2f ms\n", avgWaitingTime);
-        System.out.printf("CPU Utilization: %.2f%%\n", cpuUtilization);
+    // Creates an incremental preemptive priority simulator for processes submitted while it advances
+    @Override
+    public OnlineScheduler online() {
+        return OnlineSimulator.priority(true, switchCost, agingInterval);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Column-oriented workload: one int array per process attribute, addressed by row index.
+// Rows are added in input order and never change, so schedulers can share a table;
+// freeze() also forbids new rows so the table can be handed to concurrent runs.
+public class ProcessTable {
+    private int size;             // Number of processes in the table
+    private int[] arrivalTime;    // Time each process arrives in the system
+    private int[] burstTime;      // CPU time each process needs
+    private int[] priority;       // Priority of each process (lower value means higher priority)
+    private String[] processID;   // Explicit IDs, allocated only once a process is given one
+    private boolean hasPriorities; // True once a process is added with an explicit priority
+    private volatile boolean frozen; // True once no more rows may be added
+    private volatile long fingerprint; // Cached fingerprint of a frozen table, 0 until computed
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    // Creates a table with room for the given number of processes before it has to grow
+    public ProcessTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.arrivalTime = new int[capacity];
+        this.burstTime = new int[capacity];
+        this.priority = new int[capacity];
+    }
+
+    // Adds a process without a priority and returns its row index
+    public int add(int arrivalTime, int burstTime) {
+        if (frozen) {
+            throw new IllegalStateException("Cannot add processes to a frozen ProcessTable");
+        }
+        ensureCapacity(size + 1);
+        this.arrivalTime[size] = arrivalTime;
+        this.burstTime[size] = burstTime;
+        return size++;
+    }
+
+    // Adds a process with a priority and returns its row index
+    public int add(int priority, int arrivalTime, int burstTime) {
+        int row = add(arrivalTime, burstTime);
+        this.priority[row] = priority;
+        hasPriorities = true;
+        return row;
+    }
+
+    // Adds a process with an explicit ID and returns its row index
+    public int add(String processID, int arrivalTime, int burstTime) {
+        int row = add(arrivalTime, burstTime);
+        setProcessID(row, processID);
+        return row;
+    }
+
+    // Adds a process with an explicit ID and a priority and returns its row index
+    public int add(String processID, int priority, int arrivalTime, int burstTime) {
+        int row = add(priority, arrivalTime, burstTime);
+        setProcessID(row, processID);
+        return row;
+    }
+
+    // Makes the table read-only and returns it
+    public ProcessTable freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int arrivalTime(int row) {
+        return arrivalTime[row];
+    }
+
+    public int burstTime(int row) {
+        return burstTime[row];
+    }
+
+    public int priority(int row) {
+        return priority[row];
+    }
+
+    public boolean hasPriorities() {
+        return hasPriorities;
+    }
+
+    // Returns the explicit ID of a process, or the one generated from its row (A, B, ..., Z, AA, AB, ...)
+    public String processID(int row) {
+        if (processID != null && processID[row] != null) {
+            return processID[row];
+        }
+        return generatedID(row);
+    }
+
+    // Sum of all burst times
+    public long totalBurstTime() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += burstTime[i];
+        }
+        return total;
+    }
+
+    // 64-bit hash of every column (and explicit IDs), so equal workloads have equal fingerprints.
+    // A frozen table computes it once.
+    public long fingerprint() {
+        long hash = fingerprint;
+        if (hash != 0) {
+            return hash;
+        }
+        hash = size;
+        for (int i = 0; i < size; i++) {
+            hash = (hash + arrivalTime[i]) * 0x9E3779B97F4A7C15L;
+            hash = (hash + burstTime[i]) * 0x9E3779B97F4A7C15L;
+            hash = (hash + priority[i]) * 0x9E3779B97F4A7C15L;
+        }
+        if (processID != null) {
+            for (int i = 0; i < size; i++) {
+                int id = processID[i] == null ? 0 : processID[i].hashCode() + 1;
+                hash = (hash + id) * 0x9E3779B97F4A7C15L;
+            }
+        }
+        hash = (hash + (hasPriorities ? 1 : 0)) * 0x9E3779B97F4A7C15L;
+        // Final mix so every input bit affects every output bit
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        if (frozen) {
+            fingerprint = hash;
+        }
+        return hash;
+    }
+
+    // Returns the row indices sorted by arrival time, ties kept in input order
+    public int[] arrivalOrder() {
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = ((long) arrivalTime[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    // Returns the row indices sorted by process ID; generated IDs already follow row order
+    public int[] idOrder() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (processID == null) {
+            return order;
+        }
+
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, Comparator.comparing(this::processID));
+        for (int i = 0; i < size; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private void setProcessID(int row, String id) {
+        if (processID == null) {
+            processID = new String[arrivalTime.length];
+        }
+        processID[row] = id;
+    }
+
+    // Grows every column together so they stay parallel
+    private void ensureCapacity(int capacity) {
+        if (capacity <= arrivalTime.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, arrivalTime.length + (arrivalTime.length >> 1));
+        arrivalTime = Arrays.copyOf(arrivalTime, newCapacity);
+        burstTime = Arrays.copyOf(burstTime, newCapacity);
+        priority = Arrays.copyOf(priority, newCapacity);
+        if (processID != null) {
+            processID = Arrays.copyOf(processID, newCapacity);
+        }
+    }
+
+    // Spreadsheet-style column name for a row: 0 -> A, 25 -> Z, 26 -> AA
+    private static String generatedID(int row) {
+        StringBuilder id = new StringBuilder();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            id.append((char) ('A' + (n - 1) % 26));
+        }
+        return id.reverse().toString();
+    }
+}
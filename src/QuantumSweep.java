@@ -0,0 +1,116 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs Round Robin once per time quantum in parallel on a ForkJoinPool.
+// Every run reads the same ProcessTable, which schedulers never modify, so no copies are made.
+public class QuantumSweep {
+    private QuantumSweep() {
+    }
+
+    // Sweeps the quanta from, from + step, ... up to and including to, on the common pool
+    public static List<Row> run(ProcessTable processes, int from, int to, int step) {
+        if (from <= 0 || step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid quantum range " + from + ".." + to + " step " + step);
+        }
+        int[] quanta = new int[(to - from) / step + 1];
+        for (int i = 0; i < quanta.length; i++) {
+            quanta[i] = from + i * step;
+        }
+        return run(processes, quanta, ForkJoinPool.commonPool());
+    }
+
+    // Runs one Round Robin simulation per quantum and returns the rows in the order of the quanta
+    public static List<Row> run(ProcessTable processes, int[] quanta, ForkJoinPool pool) {
+        return run(processes, quanta, 0, 0, pool);
+    }
+
+    // Same as above, charging the given context switch costs in every run, so the sweep shows
+    // which quantum gives the highest throughput once switching is no longer free
+    public static List<Row> run(ProcessTable processes, int[] quanta, int switchCost, int resumeCost,
+                                ForkJoinPool pool) {
+        if (quanta.length == 0) {
+            return List.of();
+        }
+        Row[] rows = new Row[quanta.length];
+        pool.invoke(new SweepTask(processes, quanta, switchCost, resumeCost, rows, 0, quanta.length));
+        return Arrays.asList(rows);
+    }
+
+    // Prints the sweep as a table, one line per quantum, followed by the quantum with the highest throughput
+    public static void print(List<Row> rows, PrintStream out) {
+        out.printf("%-8s %-20s %-24s %-12s %-18s %-16s%n", "Quantum", "Avg Waiting Time",
+                "Avg Turnaround Time", "Throughput", "Context Switches", "Switch Overhead");
+        Row best = null;
+        for (Row row : rows) {
+            out.printf("%-8d %-20.2f %-24.2f %-12.4f %-18d %-16s%n", row.timeQuantum, row.averageWaitingTime,
+                    row.averageTurnaroundTime, row.throughput, row.contextSwitches,
+                    String.format("%.2f%%", row.switchOverhead));
+            if (best == null || row.throughput > best.throughput) {
+                best = row;
+            }
+        }
+        if (best != null) {
+            out.printf("Highest throughput at q=%d (%.4f processes per unit of time)%n",
+                    best.timeQuantum, best.throughput);
+        }
+    }
+
+    // Splits the quanta in halves until a single quantum is left, then simulates it
+    private static class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ProcessTable processes;
+        private final int[] quanta;
+        private final int switchCost, resumeCost;
+        private final Row[] rows;
+        private final int from, to;
+
+        SweepTask(ProcessTable processes, int[] quanta, int switchCost, int resumeCost, Row[] rows,
+                  int from, int to) {
+            this.processes = processes;
+            this.quanta = quanta;
+            this.switchCost = switchCost;
+            this.resumeCost = resumeCost;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                RoundRobinClass scheduler = new RoundRobinClass(quanta[from], switchCost, resumeCost);
+                ScheduleResult result = scheduler.schedule(processes);
+                rows[from] = new Row(quanta[from], result);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(processes, quanta, switchCost, resumeCost, rows, from, middle),
+                    new SweepTask(processes, quanta, switchCost, resumeCost, rows, middle, to));
+        }
+    }
+
+    // Metrics of the Round Robin run for one quantum
+    public static class Row {
+        public final int timeQuantum;
+        public final double averageWaitingTime;
+        public final double averageTurnaroundTime;
+        public final double throughput;        // Completed processes per unit of time
+        public final long contextSwitches;
+        public final long switchTime;          // Time lost to context switching
+        public final double switchOverhead;    // Switching time as a percentage of the schedule
+
+        Row(int timeQuantum, ScheduleResult result) {
+            this.timeQuantum = timeQuantum;
+            this.averageWaitingTime = result.getAverageWaitingTime();
+            this.averageTurnaroundTime = result.getAverageTurnaroundTime();
+            this.throughput = result.getThroughput();
+            this.contextSwitches = result.getContextSwitches();
+            this.switchTime = result.getSwitchTime();
+            this.switchOverhead = result.getSwitchOverhead();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+// Ready queue of process indices: poll() returns the index with the smallest key
+public interface ReadyQueue {
+    // Inserts a process index with the given key (e.g. priority or remaining time)
+    void add(int index, long key);
+
+    // Removes and returns the process index that should run next
+    int poll();
+
+    boolean isEmpty();
+
+    int size();
+}
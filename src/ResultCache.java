@@ -0,0 +1,294 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+// Cache of scheduling results keyed by the workload fingerprint and the scheduler name.
+// Scheduler names carry every parameter that changes a schedule (quantum, switch costs, aging,
+// MLFQ levels), so the same algorithm with the same settings on an equal workload is a hit.
+//
+// The memory tier keeps results in least-recently-used order and evicts the oldest ones once
+// their estimated size exceeds maxBytes. The optional disk tier keeps one file per result in a
+// directory, so later runs (and other JVMs) can reload a schedule instead of simulating it;
+// a reloaded result is rebuilt from its timeline and completion times, without the
+// instrumentation counters. Concurrent requests for the same key wait for a single simulation.
+// Every caller gets its own copy of the cached result, bound to the caller's table, whose
+// histograms are read-only, so one caller can never change what another one sees.
+public class ResultCache {
+    private static final int MAGIC = 0x53524553; // "SERS" read as a little-endian int
+    private static final int VERSION = 1;
+
+    private final long maxBytes;        // Memory budget of the cached results
+    private final Path directory;       // Directory of the disk tier, null for memory only
+
+    // Cached results, least recently used first
+    private final LinkedHashMap<Key, ScheduleResult> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, FutureTask<ScheduleResult>> inFlight = new HashMap<>(); // Runs in progress
+    private long memoryBytes;           // Estimated size of the results in memory
+
+    private long hits, diskHits, misses;
+
+    // Creates a memory-only cache
+    public ResultCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    // Creates a cache that also keeps every result in the given directory
+    public ResultCache(long maxBytes, Path directory) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    // Wraps a scheduler so that its runs go through this cache
+    public Scheduler cached(Scheduler scheduler) {
+        return new Scheduler() {
+            @Override
+            public String getName() {
+                return scheduler.getName();
+            }
+
+            @Override
+            public ScheduleResult schedule(ProcessTable processes) {
+                return ResultCache.this.schedule(scheduler, processes);
+            }
+
+            @Override
+            public OnlineScheduler online() {
+                return scheduler.online();
+            }
+        };
+    }
+
+    // Returns the cached result of the scheduler on the processes, loading or simulating it on a miss
+    public ScheduleResult schedule(Scheduler scheduler, ProcessTable processes) {
+        Key key = new Key(processes.fingerprint(), scheduler.getName());
+        FutureTask<ScheduleResult> task;
+        boolean owner = false;
+        synchronized (this) {
+            ScheduleResult result = memory.get(key);
+            if (result != null && result.size() == processes.size()) {
+                hits++;
+                return result.copyFor(processes);
+            }
+            task = inFlight.get(key);
+            if (task != null) {
+                hits++; // Another thread is producing the same result
+            } else {
+                task = new FutureTask<>(() -> put(key, loadOrSchedule(key, scheduler, processes)));
+                inFlight.put(key, task);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            task.run();
+            synchronized (this) {
+                inFlight.remove(key);
+            }
+        }
+        try {
+            return task.get().copyFor(processes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cached run", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Scheduler failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Drops every result from memory; files of the disk tier are kept
+    public synchronized void clear() {
+        memory.clear();
+        memoryBytes = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    // Estimated memory used by the cached results
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    // Reads the result from the disk tier, or simulates it and writes it there
+    private ScheduleResult loadOrSchedule(Key key, Scheduler scheduler, ProcessTable processes) {
+        try {
+            if (directory != null) {
+                ScheduleResult result = read(key, processes);
+                if (result != null) {
+                    synchronized (this) {
+                        diskHits++;
+                    }
+                    return result;
+                }
+            }
+            synchronized (this) {
+                misses++;
+            }
+            ScheduleResult result = scheduler.schedule(processes);
+            if (directory != null) {
+                write(key, result);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Adds a result to the memory tier, evicts the least recently used ones over the budget
+    // and returns the result
+    private synchronized ScheduleResult put(Key key, ScheduleResult result) {
+        long bytes = estimateBytes(result);
+        if (bytes > maxBytes) {
+            return result;
+        }
+        ScheduleResult previous = memory.put(key, result);
+        if (previous != null) {
+            memoryBytes -= estimateBytes(previous);
+        }
+        memoryBytes += bytes;
+        Iterator<ScheduleResult> oldest = memory.values().iterator();
+        while (memoryBytes > maxBytes) {
+            memoryBytes -= estimateBytes(oldest.next());
+            oldest.remove();
+        }
+        return result;
+    }
+
+    // Approximate heap size of a result: per-process times, timeline segments and the histograms
+    private static long estimateBytes(ScheduleResult result) {
+        return 16L * result.size() + 20L * result.getTimeline().size()
+                + 3 * LatencyHistogram.FOOTPRINT_BYTES + 256;
+    }
+
+    // File of a key in the disk tier; the header inside the file holds the full key
+    private Path fileOf(Key key) {
+        String name = String.format("%016x-%08x.result", key.fingerprint, key.algorithm.hashCode());
+        return directory.resolve(name);
+    }
+
+    // Rebuilds a result from its file by replaying the timeline and the completions,
+    // or returns null when there is no usable file for the key, e.g. a corrupted one
+    private ScheduleResult read(Key key, ProcessTable processes) throws IOException {
+        Path file = fileOf(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != key.fingerprint
+                    || !in.readUTF().equals(key.algorithm) || in.readInt() != processes.size()) {
+                return null;
+            }
+            ScheduleResult result = new ScheduleResult(key.algorithm, processes);
+            int segments = in.readInt();
+            for (int i = 0; i < segments; i++) {
+                int process = in.readInt();
+                long from = in.readLong();
+                long to = in.readLong();
+                boolean known = process == Timeline.IDLE || process == Timeline.SWITCH
+                        || (process >= 0 && process < processes.size());
+                if (!known || from > to) {
+                    return null;
+                }
+                if (process == Timeline.IDLE) {
+                    result.recordIdle(from, to);
+                } else if (process == Timeline.SWITCH) {
+                    result.recordSwitch(from, to);
+                } else {
+                    result.recordRun(process, from, to);
+                }
+            }
+            for (int i = 0; i < processes.size(); i++) {
+                result.recordCompletion(i, in.readLong());
+            }
+            result.finish();
+            return result;
+        } catch (NoSuchFileException | EOFException e) {
+            return null; // No file yet, or one cut short; the result is simulated and written again
+        }
+    }
+
+    // Writes a result to a temporary file first, so readers never see a partial file
+    private void write(Key key, ScheduleResult result) throws IOException {
+        Files.createDirectories(directory);
+        Path file = fileOf(key);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(key.fingerprint);
+            out.writeUTF(key.algorithm);
+            out.writeInt(result.size());
+            Timeline timeline = result.getTimeline();
+            out.writeInt(timeline.size());
+            for (int i = 0; i < timeline.size(); i++) {
+                out.writeInt(timeline.process(i));
+                out.writeLong(timeline.start(i));
+                out.writeLong(timeline.end(i));
+            }
+            for (int i = 0; i < result.size(); i++) {
+                out.writeLong(result.getCompletionTime(i));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw new UncheckedIOException("Cannot write cached result " + file, e);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Workload fingerprint and scheduler name of a cached result
+    private static final class Key {
+        final long fingerprint;
+        final String algorithm;
+
+        Key(long fingerprint, String algorithm) {
+            this.fingerprint = fingerprint;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return fingerprint == key.fingerprint && algorithm.equals(key.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, algorithm);
+        }
+    }
+}
@@ -1,190 +1,124 @@
 // Coded by: Michelle Eunice Opeña
-import java.util.*;
 
-public class RoundRobinClass {
-    private List<Process> processes;  // List of processes
+public class RoundRobinClass implements Scheduler {
+    private final ProcessTable processes;  // Processes added through addProcess
     private final int timeQuantum;    // Time quantum for round-robin scheduling
+    private final int switchCost;     // Time to switch the CPU to a different process
+    private final int resumeCost;     // Time to resume the same process after its quantum expires
 
     // Constructor to initialize the RoundRobinClass with a given time quantum
     public RoundRobinClass(int timeQuantum) {
-        this.processes = new ArrayList<>();
+        this(timeQuantum, 0, 0);
+    }
+
+    // Constructor that also charges context switches: switchCost when the CPU moves to a different
+    // process, resumeCost when the same process is dispatched again right after its quantum
+    public RoundRobinClass(int timeQuantum, int switchCost, int resumeCost) {
+        if (timeQuantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+        }
+        if (switchCost < 0 || resumeCost < 0) {
+            throw new IllegalArgumentException("Context switch costs must not be negative");
+        }
+        this.processes = new ProcessTable();
         this.timeQuantum = timeQuantum;
+        this.switchCost = switchCost;
+        this.resumeCost = resumeCost;
     }
 
     // Add a process by automatically generating a process ID (A, B, C, etc.)
     public void addProcess(int arrivalTime, int burstTime) {
-        String processID = String.valueOf((char)('A' + processes.size())); // Generate names like A, B, C
-        addProcess(processID, arrivalTime, burstTime);
+        processes.add(arrivalTime, burstTime);
     }
 
     // Add a process with the specified ID, arrival time, and burst time
     public void addProcess(String processID, int arrivalTime, int burstTime) {
-        processes.add(new Process(processID, arrivalTime, burstTime));
+        processes.add(processID, arrivalTime, burstTime);
     }
 
-    // Execute the round-robin scheduling algorithm
-    public void execute() {
-        if (processes.isEmpty()) {
-            System.out.println("No processes to schedule!");
-            return;
+    @Override
+    public String getName() {
+        if (switchCost == 0 && resumeCost == 0) {
+            return "Round Robin (q=" + timeQuantum + ")";
         }
+        return "Round Robin (q=" + timeQuantum + ", switch=" + switchCost + ", resume=" + resumeCost + ")";
+    }
 
-        // Create copies of processes for scheduling without modifying original list
-        List<Process> remainingProcesses = new ArrayList<>();
-        for (Process p : processes) {
-            remainingProcesses.add(new Process(p.processID, p.arrivalTime, p.burstTime));
-        }
+    // Execute the round-robin scheduling algorithm and display the results
+    public void execute() {
+        new ConsoleRenderer(System.out).render(schedule(processes));
+    }
+
+    // Gives each ready process up to one time quantum in turn
+    @Override
+    public ScheduleResult schedule(ProcessTable processes) {
+        ScheduleResult result = new ScheduleResult(getName(), processes);
+
+        // Process indices sorted by arrival time
+        int[] arrivalOrder = processes.arrivalOrder();
+        int n = arrivalOrder.length;
+
+        IntRingBuffer readyQueue = new IntRingBuffer(n); // Ready queue of process indices
+        long currentTime = 0;   // Track the current time in the scheduling process
+        int nextArrival = 0;    // Position of the next process to arrive in arrivalOrder
+        int completedCount = 0; // Number of processes that have finished
+        int previous = -1;      // Process that ran just before, -1 at the start and after idle time
+        long[] remainingBurstTime = new long[n];  // Track remaining burst times for each process
 
-        // Sort processes by arrival time to ensure correct scheduling order
-        remainingProcesses.sort(Comparator.comparingInt(p -> p.arrivalTime));
-
-        Queue<Process> readyQueue = new LinkedList<>();  // Ready queue for scheduling
-        List<String> ganttChart = new ArrayList<>();     // Gantt chart to track execution
-        List<Integer> timeMarkers = new ArrayList<>();   // Track time markers for Gantt chart
-        
-        int currentTime = 0;  // Track the current time in the scheduling process
-        int[] remainingBurstTime = new int[processes.size()];  // Track remaining burst times for each process
-        boolean[] completed = new boolean[processes.size()];    // Track if processes are completed
-        
         // Initialize remaining burst times to the initial burst times of the processes
-        for (int i = 0; i < processes.size(); i++) {
-            remainingBurstTime[i] = processes.get(i).burstTime;
+        for (int i = 0; i < n; i++) {
+            remainingBurstTime[i] = processes.burstTime(i);
         }
 
-        timeMarkers.add(currentTime); // Add initial time to time markers
-        
-        while (true) {
-            boolean allCompleted = true;
-            
+        while (completedCount < n) {
             // Check for newly arrived processes and add them to the ready queue
-            while (!remainingProcesses.isEmpty() && remainingProcesses.get(0).arrivalTime <= currentTime) {
-                Process arrived = remainingProcesses.remove(0);
-                readyQueue.offer(arrived);
+            while (nextArrival < n && processes.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                readyQueue.offer(arrivalOrder[nextArrival++]);
             }
 
             // If no processes in ready queue, skip to the time when the next process arrives
-            if (readyQueue.isEmpty() && !remainingProcesses.isEmpty()) {
-                ganttChart.add("//");  // Represent idle time
-                currentTime = remainingProcesses.get(0).arrivalTime;
-                timeMarkers.add(currentTime);
+            if (readyQueue.isEmpty()) {
+                long arrivalTime = processes.arrivalTime(arrivalOrder[nextArrival]);
+                result.recordIdle(currentTime, arrivalTime);
+                currentTime = arrivalTime;
+                previous = -1;
                 continue;
             }
 
-            // Process the ready queue if there are processes to execute
-            if (!readyQueue.isEmpty()) {
-                Process current = readyQueue.poll();  // Dequeue the next process
-                int index = getProcessIndex(current.processID);  // Find index of current process
-                
-                // Set start time if the process hasn't started yet
-                if (current.startTime == 0 && !completed[index]) {
-                    current.startTime = currentTime;
-                }
-
-                // Execute the process for a duration of time quantum or remaining burst time
-                int executeTime = Math.min(timeQuantum, remainingBurstTime[index]);
-                remainingBurstTime[index] -= executeTime;
-                currentTime += executeTime;
-
-                ganttChart.add(current.processID);  // Add the process to the Gantt chart
-                timeMarkers.add(currentTime);      // Add current time to time markers
-
-                // Check if the process has completed
-                if (remainingBurstTime[index] == 0 && !completed[index]) {
-                    completed[index] = true;  // Mark as completed
-                    processes.get(index).completionTime = currentTime;
-                    processes.get(index).turnAroundTime = currentTime - processes.get(index).arrivalTime;
-                    processes.get(index).waitingTime = processes.get(index).turnAroundTime - processes.get(index).burstTime;
-                } else if (remainingBurstTime[index] > 0) {
-                    // If process is not completed, add back to the ready queue
-                    readyQueue.offer(current);
-                }
-            }
+            // Execute the next process for a duration of time quantum or remaining burst time
+            result.recordDecision(readyQueue.size());
+            int index = readyQueue.poll();
+            result.recordDispatch(index, currentTime);
 
-            // Check if all processes are completed
-            for (boolean isCompleted : completed) {
-                if (!isCompleted) {
-                    allCompleted = false;
-                    break;
-                }
+            // Charge the switch away from the process that ran just before
+            long cost = previous == -1 ? 0 : previous == index ? resumeCost : switchCost;
+            if (cost > 0) {
+                result.recordSwitch(currentTime, currentTime + cost);
+                currentTime += cost;
             }
-            
-            if (allCompleted) break;  // Exit if all processes are completed
-        }
-        
-        // Display final results: process table and Gantt chart
-        displayResults(ganttChart, timeMarkers);
-    }
-    
-    // Helper method to find the index of a process by its ID
-    private int getProcessIndex(String processID) {
-        for (int i = 0; i < processes.size(); i++) {
-            if (processes.get(i).processID.equals(processID)) {
-                return i;
+            previous = index;
+            long executeTime = Math.min(timeQuantum, remainingBurstTime[index]);
+            result.recordRun(index, currentTime, currentTime + executeTime);
+            remainingBurstTime[index] -= executeTime;
+            currentTime += executeTime;
+
+            // Check if the process has completed
+            if (remainingBurstTime[index] == 0) {
+                completedCount++;
+                result.recordCompletion(index, currentTime);
+            } else {
+                // If process is not completed, add back to the ready queue
+                result.recordPreemption(index, currentTime);
+                readyQueue.offer(index);
             }
         }
-        return -1;  // Return -1 if process ID is not found
+        result.finish();
+        return result;
     }
 
-    // Display the results: Process table, Gantt chart, and averages
-    private void displayResults(List<String> ganttChart, List<Integer> timeMarkers) {
-        // Print the process table
-        System.out.println("\nProcess Table:");
-        System.out.println("Process\tArrival Time\tBurst Time\tCompletion Time\tTurnaround Time\tWaiting Time");
-        
-        int totalTurnaroundTime = 0, totalWaitingTime = 0, totalBurstTime = 0;
-
-        // Calculate total turnaround time, waiting time, and burst time
-        for (Process p : processes) {
-            System.out.println(p.processID + "\t" + p.arrivalTime + "\t\t" + 
-                             p.burstTime + "\t\t" + p.completionTime + "\t\t" + 
-                             p.turnAroundTime + "\t\t" + p.waitingTime);
-            
-            totalTurnaroundTime += p.turnAroundTime;
-            totalWaitingTime += p.waitingTime;
-            totalBurstTime += p.burstTime;
-        }
-
-        // Display Gantt chart
-        System.out.println("\nGantt Chart:");
-        
-        // Display Gantt chart borders
-        System.out.print("+");
-        for (int i = 0; i < ganttChart.size(); i++) {
-            System.out.print("--------+");
-        }
-        System.out.println();
-        
-        // Display process IDs in Gantt chart
-        System.out.print("|");
-        for (String process : ganttChart) {
-            System.out.printf(" %-6s |", process);
-        }
-        System.out.println();
-        
-        // Display bottom border of the Gantt chart
-        System.out.print("+");
-        for (int i = 0; i < ganttChart.size(); i++) {
-            System.out.print("--------+");
-        }
-        System.out.println();
-        
-        // Display time markers
-        for (Integer time : timeMarkers) {
-            System.out.printf("%-9d", time);
-        }
-        System.out.println();
-
-        // Calculate and display averages
-        double avgTurnaroundTime = (double) totalTurnaroundTime / processes.size();
-        double avgWaitingTime = (double) totalWaitingTime / processes.size();
-    
-        // Calculate CPU utilization
-        int totalTime = timeMarkers.get(timeMarkers.size() - 1);
-        double cpuUtilization = ((double) totalBurstTime / totalTime) * 100;
-
-        // Print averages and CPU utilization
-        System.out.printf("\nAverage Turnaround Time: %.2f ms\n", avgTurnaroundTime);
-        System.out.printf("Average Waiting Time: %.2f ms\n", avgWaitingTime);
-        System.out.printf("CPU Utilization: %.2f%%\n", cpuUtilization);
+    // Creates an incremental round-robin simulator for processes submitted while it advances
+    @Override
+    public OnlineScheduler online() {
+        return OnlineSimulator.roundRobin(timeQuantum, switchCost, resumeCost);
     }
-}
\ No newline at end of file
+}
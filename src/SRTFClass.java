@@ -1,172 +1,143 @@
 // Coded by: Jan Patrice Pasacsac
-import java.util.*;
 
-public class SRTFClass {
-    private List<Process> processes;
+public class SRTFClass implements Scheduler {
+    private final ProcessTable processes; // Processes added through addProcess
+    private final int switchCost;         // Time to switch the CPU from one process to another
 
     public SRTFClass() {
-        this.processes = new ArrayList<>();
+        this(0);
+    }
+
+    // Creates an SRTF scheduler that charges switchCost every time the CPU changes process
+    public SRTFClass(int switchCost) {
+        if (switchCost < 0) {
+            throw new IllegalArgumentException("Context switch cost must not be negative: " + switchCost);
+        }
+        this.processes = new ProcessTable();
+        this.switchCost = switchCost;
     }
 
     // Method to add a process using process ID, arrival time, and burst time
     public void addProcess(String processID, int arrivalTime, int burstTime) {
-        processes.add(new Process(processID, arrivalTime, burstTime));
+        processes.add(processID, arrivalTime, burstTime);
     }
 
     // Method to add a process using only arrival time and burst time
     public void addProcess(int arrivalTime, int burstTime) {
         // Convert process number to letter (1->A, 2->B, etc.)
-        char processLetter = (char)('A' + processes.size());
-        addProcess(String.valueOf(processLetter), arrivalTime, burstTime);
+        processes.add(arrivalTime, burstTime);
+    }
+
+    @Override
+    public String getName() {
+        return switchCost == 0 ? "SRTF" : "SRTF (switch=" + switchCost + ")";
     }
 
-    // Executes the Shortest Remaining Time First (SRTF) algorithm
+    // Executes the Shortest Remaining Time First (SRTF) algorithm and displays the results
     public void execute() {
-        // Sort processes by their arrival times
-        List<Process> sortedProcesses = new ArrayList<>(processes);
-        sortedProcesses.sort(Comparator.comparingInt(p -> p.arrivalTime));
+        new ConsoleRenderer(System.out).render(schedule(processes));
+    }
 
-        int n = sortedProcesses.size();
-        int[] remainingTime = new int[n];
+    // Always runs the arrived process with the least remaining time, preempting on arrivals
+    @Override
+    public ScheduleResult schedule(ProcessTable processes) {
+        ScheduleResult result = new ScheduleResult(getName(), processes);
+
+        // Process indices sorted by arrival time; the heap works on positions in this order
+        int[] arrivalOrder = processes.arrivalOrder();
+        int n = arrivalOrder.length;
+        long[] remainingTime = new long[n];
         for (int i = 0; i < n; i++) {
-            remainingTime[i] = sortedProcesses.get(i).burstTime;
+            remainingTime[i] = processes.burstTime(arrivalOrder[i]);
         }
 
-        // Initialize variables to keep track of the current state
-        int complete = 0, currentTime = 0, minTime = Integer.MAX_VALUE;
-        int shortest = 0, finishTime;
-        boolean check = false;
-
-        List<String> ganttChart = new ArrayList<>();
-        List<Integer> timeMarkers = new ArrayList<>();
-        boolean isIdle = true;
+        // Ready processes ordered by remaining time (ties go to the earlier arrival)
+        IndexHeap readyQueue = new IndexHeap(n);
 
-        // Main loop to schedule the processes
+        // Initialize variables to keep track of the current state
+        int complete = 0;
+        long currentTime = 0;
+        int nextArrival = 0;  // Position of the next process to arrive in arrivalOrder
+        int current = -1;     // Position of the running process, -1 when the CPU is free
+        int segment = -1;     // Position of the process in the open Gantt segment, -1 if none
+        long segmentStart = 0;
+
+        // Main loop: jump from one arrival or completion to the next instead of ticking
         while (complete != n) {
-            // Check if a new process has arrived and if it has the shortest remaining time
-            for (int j = 0; j < n; j++) {
-                if ((sortedProcesses.get(j).arrivalTime <= currentTime) &&
-                        (remainingTime[j] < minTime) && remainingTime[j] > 0) {
-                    minTime = remainingTime[j];
-                    shortest = j;
-                    check = true;
-                }
+            // Move every process that has arrived by now into the ready queue
+            while (nextArrival < n && processes.arrivalTime(arrivalOrder[nextArrival]) <= currentTime) {
+                readyQueue.add(nextArrival, remainingTime[nextArrival]);
+                nextArrival++;
             }
 
-            // If no process is ready, increment the current time
-            if (!check) {
-                if (isIdle) {
-                    ganttChart.add("//");
-                    timeMarkers.add(currentTime);
-                    isIdle = false;
-                }
-                currentTime++;
-                continue;
+            // Preempt the running process only if an arrival needs strictly less time
+            result.recordDecision(readyQueue.size());
+            if (current != -1 && !readyQueue.isEmpty() && readyQueue.peekKey() < remainingTime[current]) {
+                result.recordPreemption(arrivalOrder[current], currentTime);
+                readyQueue.add(current, remainingTime[current]);
+                current = -1;
             }
 
-            // Record the first process execution time
-            if (!isIdle) {
-                isIdle = true;
-                timeMarkers.add(currentTime);
+            if (current == -1) {
+                // If no process is ready, the CPU stays idle until the next arrival
+                if (readyQueue.isEmpty()) {
+                    if (segment != -1) {
+                        result.recordRun(arrivalOrder[segment], segmentStart, currentTime);
+                        segment = -1;
+                    }
+                    long arrivalTime = processes.arrivalTime(arrivalOrder[nextArrival]);
+                    result.recordIdle(currentTime, arrivalTime);
+                    currentTime = arrivalTime;
+                    continue;
+                }
+                current = readyQueue.poll();
+                result.recordDispatch(arrivalOrder[current], currentTime);
             }
 
-            // Decrease the remaining time for the shortest process
-            remainingTime[shortest]--;
-            minTime = remainingTime[shortest];
-            if (minTime == 0) {
-                minTime = Integer.MAX_VALUE;
+            // Start a new Gantt segment when a different process takes the CPU
+            if (current != segment) {
+                boolean switching = segment != -1 && switchCost > 0;
+                if (segment != -1 && segmentStart < currentTime) {
+                    result.recordRun(arrivalOrder[segment], segmentStart, currentTime);
+                }
+                segment = current;
+                if (switching) {
+                    // Arrivals during the switch are considered again before the process runs
+                    result.recordSwitch(currentTime, currentTime + switchCost);
+                    currentTime += switchCost;
+                    segmentStart = currentTime;
+                    continue;
+                }
+                segmentStart = currentTime;
             }
 
-            // If process is completed, calculate its times and mark it as complete
-            if (remainingTime[shortest] == 0) {
-                complete++;
-                check = false;
-
-                finishTime = currentTime + 1;
-                sortedProcesses.get(shortest).completionTime = finishTime;
-                sortedProcesses.get(shortest).turnAroundTime = finishTime - sortedProcesses.get(shortest).arrivalTime;
-                sortedProcesses.get(shortest).waitingTime = sortedProcesses.get(shortest).turnAroundTime
-                        - sortedProcesses.get(shortest).burstTime;
+            // Run the process until it completes or the next process arrives, whichever is first
+            long runUntil = currentTime + remainingTime[current];
+            if (nextArrival < n && processes.arrivalTime(arrivalOrder[nextArrival]) < runUntil) {
+                runUntil = processes.arrivalTime(arrivalOrder[nextArrival]);
             }
+            remainingTime[current] -= runUntil - currentTime;
+            currentTime = runUntil;
 
-            // Update the Gantt chart with the current process ID
-            if (ganttChart.isEmpty()
-                    || !ganttChart.get(ganttChart.size() - 1).equals(sortedProcesses.get(shortest).processID)) {
-                ganttChart.add(sortedProcesses.get(shortest).processID);
-                if (timeMarkers.isEmpty() || timeMarkers.get(timeMarkers.size() - 1) != currentTime) {
-                    timeMarkers.add(currentTime);
-                }
+            // If process is completed, record its completion time
+            if (remainingTime[current] == 0) {
+                complete++;
+                result.recordCompletion(arrivalOrder[current], currentTime);
+                current = -1;
             }
-
-            currentTime++;
         }
 
-        // Add the final time marker
-        timeMarkers.add(currentTime);
-
-        // Calculate total times for all processes
-        int totalWaitTime = 0, totalTurnAroundTime = 0, totalBurstTime = 0;
-        for (Process p : sortedProcesses) {
-            totalWaitTime += p.waitingTime;
-            totalTurnAroundTime += p.turnAroundTime;
-            totalBurstTime += p.burstTime;
+        // Close the last Gantt segment
+        if (segment != -1) {
+            result.recordRun(arrivalOrder[segment], segmentStart, currentTime);
         }
-
-        // Display the results
-        displayResults(totalWaitTime, totalTurnAroundTime, totalBurstTime, currentTime,
-                sortedProcesses, ganttChart, timeMarkers);
+        result.finish();
+        return result;
     }
 
-    // Method to display the results
-    private void displayResults(int totalWaitTime, int totalTurnAroundTime, int totalBurstTime,
-            int currentTime, List<Process> sortedProcesses,
-            List<String> ganttChart, List<Integer> timeMarkers) {
-
-        // Calculate averages and CPU utilization
-        double avgWaitTime = (double) totalWaitTime / processes.size();
-        double avgTurnaroundTime = (double) totalTurnAroundTime / processes.size();
-        double cpuUtilization = ((double) totalBurstTime / currentTime) * 100;
-
-        // Print process table
-        System.out.println("\nProcess Table:");
-        System.out.printf("%-12s %-14s %-10s %-16s %-18s %-14s\n",
-                "Process ID", "Arrival Time", "Burst Time",
-                "Completion Time", "Turnaround Time", "Waiting Time");
-
-        for (Process p : processes) {
-            System.out.printf("%-12s %-14d %-10d %-16d %-18d %-14d\n",
-                    p.processID, p.arrivalTime, p.burstTime,
-                    p.completionTime, p.turnAroundTime, p.waitingTime);
-        }
-
-        // Print average times and CPU utilization
-        System.out.printf("\nAverage Waiting Time: %.2f ms\n", avgWaitTime);
-        System.out.printf("Average Turnaround Time: %.2f ms\n", avgTurnaroundTime);
-        System.out.printf("CPU Utilization: %.2f%%\n", cpuUtilization);
-
-        // Print Gantt chart
-        System.out.println("\nGantt Chart:");
-        System.out.print("+");
-        for (int i = 0; i < ganttChart.size(); i++) {
-            System.out.print("--------+");
-        }
-        System.out.println();
-
-        System.out.print("|");
-        for (String process : ganttChart) {
-            System.out.printf(" %-6s |", process);
-        }
-        System.out.println();
-
-        System.out.print("+");
-        for (int i = 0; i < ganttChart.size(); i++) {
-            System.out.print("--------+");
-        }
-        System.out.println();
-
-        for (Integer time : timeMarkers) {
-            System.out.printf("%-9d", time);
-        }
-        System.out.println();
+    // Creates an incremental SRTF simulator for processes submitted while it advances
+    @Override
+    public OnlineScheduler online() {
+        return OnlineSimulator.srtf(switchCost);
     }
-}
\ No newline at end of file
+}
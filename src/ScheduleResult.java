@@ -0,0 +1,324 @@
+import java.util.Arrays;
+
+// Outcome of one scheduling run: per-process times, the timeline and aggregate metrics.
+// The per-process results are columns parallel to the rows of the scheduled ProcessTable.
+public class ScheduleResult {
+    private final String algorithm;        // Name of the scheduler that produced the result
+    private final ProcessTable processes;  // Processes that were scheduled
+    private final long[] startTime;        // First time each process ran, -1 if it never ran
+    private final long[] completionTime;   // Time each process finished
+
+    private final Timeline timeline;       // Run and idle segments of the CPU
+
+    // Latency distributions, fed as processes start and complete
+    private final LatencyHistogram waitingTimes;
+    private final LatencyHistogram turnaroundTimes;
+    private final LatencyHistogram responseTimes;
+
+    private int lastRun = -1;      // Process of the latest run segment, -1 before the first
+    private long contextSwitches;  // Times the CPU moved on to a different process
+
+    private long busyTime;  // Time the CPU spent running processes
+    private long idleTime;  // Time the CPU spent idle
+    private long switchTime; // Time the CPU spent switching between processes
+    private long endTime;   // Time the last segment ends
+
+    // Instrumentation counters, only filled in when Instrumentation.ENABLED is set
+    private long dispatches;     // Times a process was taken from the ready queue
+    private long preemptions;    // Times a running process lost the CPU before completing
+    private long idlePeriods;    // Times the CPU went idle
+    private int maxQueueDepth;   // Most processes ever waiting at a decision
+    private int queueDepth;      // Processes waiting at the latest decision, for Dispatch events
+    private long decisions;      // Scheduling decisions taken
+    private long startNanos;     // Wall-clock start of the run
+    private long elapsedNanos;   // Wall-clock duration of the run, set by finish()
+    private Instrumentation.ScheduleEvent scheduleEvent;
+
+    // Creates an empty result that a scheduler fills in while it simulates
+    ScheduleResult(String algorithm, ProcessTable processes) {
+        this.algorithm = algorithm;
+        this.processes = processes;
+        this.startTime = new long[processes.size()];
+        this.completionTime = new long[processes.size()];
+        this.timeline = new Timeline();
+        this.waitingTimes = new LatencyHistogram();
+        this.turnaroundTimes = new LatencyHistogram();
+        this.responseTimes = new LatencyHistogram();
+        Arrays.fill(startTime, -1);
+        if (Instrumentation.ENABLED) {
+            scheduleEvent = new Instrumentation.ScheduleEvent();
+            scheduleEvent.begin();
+            startNanos = System.nanoTime();
+        }
+    }
+
+    // Copy of a finished result bound to another table with the same fingerprint. The times and the
+    // timeline never change after finish() and are shared; the histograms, which have public
+    // methods that change them, are shared as read-only views.
+    private ScheduleResult(ScheduleResult result, ProcessTable processes) {
+        this.algorithm = result.algorithm;
+        this.processes = processes;
+        this.startTime = result.startTime;
+        this.completionTime = result.completionTime;
+        this.timeline = result.timeline;
+        this.waitingTimes = result.waitingTimes.readOnlyView();
+        this.turnaroundTimes = result.turnaroundTimes.readOnlyView();
+        this.responseTimes = result.responseTimes.readOnlyView();
+        this.lastRun = result.lastRun;
+        this.contextSwitches = result.contextSwitches;
+        this.busyTime = result.busyTime;
+        this.idleTime = result.idleTime;
+        this.switchTime = result.switchTime;
+        this.endTime = result.endTime;
+        this.dispatches = result.dispatches;
+        this.preemptions = result.preemptions;
+        this.idlePeriods = result.idlePeriods;
+        this.maxQueueDepth = result.maxQueueDepth;
+        this.decisions = result.decisions;
+        this.elapsedNanos = result.elapsedNanos;
+    }
+
+    // Returns a copy of this finished result for the given table, which must have the same fingerprint
+    ScheduleResult copyFor(ProcessTable processes) {
+        return new ScheduleResult(this, processes);
+    }
+
+    // Records that a process ran from one time to another; a slice continuing the last segment extends it
+    void recordRun(int index, long from, long to) {
+        if (startTime[index] == -1) {
+            startTime[index] = from;
+            responseTimes.record(from - processes.arrivalTime(index));
+        }
+        if (lastRun != -1 && lastRun != index) {
+            contextSwitches++;
+        }
+        lastRun = index;
+        timeline.add(index, from, to);
+        busyTime += to - from;
+        endTime = to;
+    }
+
+    // Records that the CPU was idle between two times
+    void recordIdle(long from, long to) {
+        timeline.add(Timeline.IDLE, from, to);
+        idleTime += to - from;
+        endTime = to;
+        if (Instrumentation.ENABLED) {
+            idlePeriods++;
+            Instrumentation.IdleEvent event = new Instrumentation.IdleEvent();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.from = from;
+                event.to = to;
+                event.commit();
+            }
+        }
+    }
+
+    // Records time the CPU spent switching contexts instead of running a process
+    void recordSwitch(long from, long to) {
+        timeline.add(Timeline.SWITCH, from, to);
+        switchTime += to - from;
+        endTime = to;
+    }
+
+    // Records a scheduling decision taken while the given number of processes were waiting
+    void recordDecision(int queueDepth) {
+        if (Instrumentation.ENABLED) {
+            decisions++;
+            this.queueDepth = queueDepth;
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+    }
+
+    // Records that a process was taken from the ready queue and given the CPU
+    void recordDispatch(int index, long time) {
+        if (Instrumentation.ENABLED) {
+            dispatches++;
+            Instrumentation.DispatchEvent event = new Instrumentation.DispatchEvent();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.process = index;
+                event.time = time;
+                event.queueDepth = queueDepth;
+                event.commit();
+            }
+        }
+    }
+
+    // Records that a running process lost the CPU before it completed
+    void recordPreemption(int index, long time) {
+        if (Instrumentation.ENABLED) {
+            preemptions++;
+            Instrumentation.PreemptionEvent event = new Instrumentation.PreemptionEvent();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.process = index;
+                event.time = time;
+                event.commit();
+            }
+        }
+    }
+
+    // Marks the end of the run: stamps its duration and commits its Schedule event
+    void finish() {
+        if (Instrumentation.ENABLED) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            scheduleEvent.end();
+            if (scheduleEvent.shouldCommit()) {
+                scheduleEvent.algorithm = algorithm;
+                scheduleEvent.processes = size();
+                scheduleEvent.dispatches = dispatches;
+                scheduleEvent.preemptions = preemptions;
+                scheduleEvent.idlePeriods = idlePeriods;
+                scheduleEvent.maxQueueDepth = maxQueueDepth;
+                scheduleEvent.decisions = decisions;
+                scheduleEvent.commit();
+            }
+        }
+    }
+
+    // Records the time a process finished
+    void recordCompletion(int index, long time) {
+        completionTime[index] = time;
+        long turnaroundTime = time - processes.arrivalTime(index);
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(turnaroundTime - processes.burstTime(index));
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public ProcessTable getProcesses() {
+        return processes;
+    }
+
+    public int size() {
+        return completionTime.length;
+    }
+
+    public long getStartTime(int index) {
+        return startTime[index];
+    }
+
+    public long getCompletionTime(int index) {
+        return completionTime[index];
+    }
+
+    // Time from arrival to completion
+    public long getTurnaroundTime(int index) {
+        return completionTime[index] - processes.arrivalTime(index);
+    }
+
+    // Time spent in the ready queue (turnaround time minus burst time)
+    public long getWaitingTime(int index) {
+        return getTurnaroundTime(index) - processes.burstTime(index);
+    }
+
+    // Time from arrival until the process first ran
+    public long getResponseTime(int index) {
+        return startTime[index] - processes.arrivalTime(index);
+    }
+
+    public LatencyHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+
+    public LatencyHistogram getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    public Timeline getTimeline() {
+        return timeline;
+    }
+
+    public long getBusyTime() {
+        return busyTime;
+    }
+
+    public long getIdleTime() {
+        return idleTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getSwitchTime() {
+        return switchTime;
+    }
+
+    // Percentage of the schedule lost to context switching
+    public double getSwitchOverhead() {
+        return endTime == 0 ? 0 : ((double) switchTime / endTime) * 100;
+    }
+
+    // Number of times the CPU switched from one process to a different one
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getDispatches() {
+        return dispatches;
+    }
+
+    public long getPreemptions() {
+        return preemptions;
+    }
+
+    public long getIdlePeriods() {
+        return idlePeriods;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getDecisions() {
+        return decisions;
+    }
+
+    // Scheduling decisions per second of wall-clock time, 0 unless instrumentation is enabled
+    public double getDecisionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : decisions * 1e9 / elapsedNanos;
+    }
+
+    // Completed processes per unit of time
+    public double getThroughput() {
+        return endTime == 0 ? 0 : (double) size() / endTime;
+    }
+
+    public double getAverageWaitingTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getWaitingTime(i);
+        }
+        return (double) total / size();
+    }
+
+    public double getAverageTurnaroundTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getTurnaroundTime(i);
+        }
+        return (double) total / size();
+    }
+
+    public double getAverageResponseTime() {
+        long total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += getResponseTime(i);
+        }
+        return (double) total / size();
+    }
+
+    // Percentage of the schedule the CPU spent running processes
+    public double getCpuUtilization() {
+        return endTime == 0 ? 0 : ((double) busyTime / endTime) * 100;
+    }
+}
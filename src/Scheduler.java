@@ -0,0 +1,14 @@
+// Common interface of the scheduling algorithms
+public interface Scheduler {
+    // Short name of the algorithm, used in reports
+    String getName();
+
+    // Simulates the processes and returns the results without printing anything.
+    // The table is only read, so it can be shared between runs.
+    ScheduleResult schedule(ProcessTable processes);
+
+    // Creates an incremental simulator of the same algorithm that accepts processes while it runs
+    default OnlineScheduler online() {
+        throw new UnsupportedOperationException(getName() + " has no online mode");
+    }
+}
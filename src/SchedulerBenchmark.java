@@ -0,0 +1,131 @@
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+// Throughput and allocation benchmark for the six scheduling algorithms.
+//
+// Usage: java SchedulerBenchmark [--sizes 10,1000,100000,1000000] [--patterns uniform,bursty,zero]
+//                                [--algorithms fcfs,sjf,srtf,npp,pp,rr] [--quantum 4]
+//                                [--warmup 3] [--iterations 5] [--time 1000]
+//
+// Each (algorithm, pattern, size) case schedules the same pre-built ProcessTable over and over:
+// first for the warmup iterations, then for the measured ones, each lasting about --time ms.
+// Only schedule() is timed; workloads are generated beforehand and nothing is printed until a
+// case is finished. Allocation is read from the thread's allocated-bytes counter, like the
+// gc.alloc.rate.norm figure of a GC profiler.
+public class SchedulerBenchmark {
+    private static volatile long sink; // Consumes results so the JIT cannot drop the work
+
+    private final int timeQuantum;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public SchedulerBenchmark(int timeQuantum, int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.timeQuantum = timeQuantum;
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+    }
+
+    public static void main(String[] args) {
+        List<String> sizes = List.of("10", "1000", "100000", "1000000");
+        List<String> patterns = List.of("uniform", "bursty", "zero");
+        List<String> algorithms = Algorithms.NAMES;
+        int timeQuantum = 4, warmup = 3, iterations = 5, time = 1000;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes": sizes = List.of(value.split(",")); break;
+                case "--patterns": patterns = List.of(value.split(",")); break;
+                case "--algorithms": algorithms = List.of(value.split(",")); break;
+                case "--quantum": timeQuantum = Integer.parseInt(value); break;
+                case "--warmup": warmup = Integer.parseInt(value); break;
+                case "--iterations": iterations = Integer.parseInt(value); break;
+                case "--time": time = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        SchedulerBenchmark benchmark = new SchedulerBenchmark(timeQuantum, warmup, iterations, time);
+        System.out.printf("%-26s %-8s %9s %14s %12s %14s %14s%n",
+                "Benchmark", "Pattern", "Size", "ops/s", "ms/op", "alloc MB/s", "alloc B/op");
+        for (String pattern : patterns) {
+            for (String size : sizes) {
+                ProcessTable processes = generate(pattern, Integer.parseInt(size), 42);
+                for (String algorithm : algorithms) {
+                    Scheduler scheduler = Algorithms.create(algorithm, timeQuantum);
+                    Measurement m = benchmark.measure(scheduler, processes);
+                    System.out.printf("%-26s %-8s %9d %14.3f %12.3f %14.1f %14.0f%n",
+                            scheduler.getName(), pattern, processes.size(), m.opsPerSecond,
+                            1000 / m.opsPerSecond, m.bytesPerOp * m.opsPerSecond / (1 << 20), m.bytesPerOp);
+                }
+            }
+        }
+    }
+
+    // Runs the warmup and measured iterations for one case and averages the measured ones
+    public Measurement measure(Scheduler scheduler, ProcessTable processes) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(scheduler, processes);
+        }
+        double opsPerSecond = 0, bytesPerOp = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            Measurement m = runIteration(scheduler, processes);
+            opsPerSecond += m.opsPerSecond;
+            bytesPerOp += m.bytesPerOp;
+        }
+        return new Measurement(opsPerSecond / measurementIterations, bytesPerOp / measurementIterations);
+    }
+
+    // Schedules the workload repeatedly for one iteration's worth of time (at least once)
+    private Measurement runIteration(Scheduler scheduler, ProcessTable processes) {
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long elapsed, ops = 0;
+        do {
+            sink += scheduler.schedule(processes).getEndTime();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        return new Measurement(ops * 1e9 / elapsed, (double) allocated / ops);
+    }
+
+    // Generates a workload of the given size with priorities 0-139 and bursts 1-20:
+    // "uniform" spreads arrivals evenly, "bursty" releases groups of 64 processes at once,
+    // and "zero" has every process arrive at time 0
+    public static ProcessTable generate(String pattern, int size, long seed) {
+        Random random = new Random(seed);
+        ProcessTable processes = new ProcessTable(size);
+        for (int i = 0; i < size; i++) {
+            int arrivalTime;
+            switch (pattern) {
+                case "uniform": arrivalTime = random.nextInt(Math.max(1, size * 10)); break;
+                case "bursty": arrivalTime = (i / 64) * 64 * 10 + random.nextInt(3); break;
+                case "zero": arrivalTime = 0; break;
+                default: throw new IllegalArgumentException("Unknown arrival pattern " + pattern);
+            }
+            processes.add(random.nextInt(140), arrivalTime, 1 + random.nextInt(20));
+        }
+        return processes;
+    }
+
+    // Average throughput and allocation of a benchmark case
+    public static class Measurement {
+        public final double opsPerSecond;
+        public final double bytesPerOp;
+
+        Measurement(double opsPerSecond, double bytesPerOp) {
+            this.opsPerSecond = opsPerSecond;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+}
@@ -5,12 +5,19 @@
 // - Pasacsac, Jan Patrice
 // - Santua, Aldrei Justin
 
+import java.io.IOException;
 import java.util.*;
 
 public class Scheduling {
     private static Scanner scanner = new Scanner(System.in);
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // With arguments, run the batch mode instead of the interactive menu
+        if (args.length > 0) {
+            BatchRunner.main(args);
+            return;
+        }
+
         boolean continueProgram = true;
 
         while (continueProgram) {
@@ -21,11 +28,13 @@ public class Scheduling {
             System.out.println("4. Priority Scheduling (Non-Preemptive)");
             System.out.println("5. Priority Scheduling (Preemptive)");
             System.out.println("6. Round Robin");
+            System.out.println("7. Multilevel Feedback Queue (MLFQ)");
+            System.out.println("8. Compare All Algorithms");
             System.out.println("0. Exit Program");
             System.out.println("==========================================");
 
-            System.out.print("\nEnter your choice (0-6): ");
-            int choice = getValidChoice(0, 6);
+            System.out.print("\nEnter your choice (0-8): ");
+            int choice = getValidChoice(0, 8);
             
             if (choice == 0) {
                 System.out.println("\nThank you for using the CPU Scheduling Program!");
@@ -52,7 +61,7 @@ public class Scheduling {
                 System.out.print("Burst Time: ");
                 burstTime[i] = getValidPositiveInput();
 
-                if (choice == 4 || choice == 5) {
+                if (choice == 4 || choice == 5 || choice == 8) {
                     System.out.print("Priority: ");
                     priority[i] = getValidNonNegativeInput();
                 }
@@ -135,6 +144,32 @@ public class Scheduling {
                         // Execute the Round Robin
                         rr.execute();
                         break;
+                    case 7:
+                        // Multilevel Feedback Queue
+                        System.out.print("\nEnter Time Quantum of the top level (positive integer): ");
+                        int topQuantum = getValidPositiveInput();
+                        MLFQClass mlfq = new MLFQClass(topQuantum);
+
+                        for (int i = 0; i < n; i++) {
+                            mlfq.addProcess(arrivalTime[i], burstTime[i]);
+                        }
+
+                        // Execute the MLFQ
+                        mlfq.execute();
+                        break;
+                    case 8:
+                        // All algorithms side by side on the same processes
+                        System.out.print("\nEnter Time Quantum for Round Robin (positive integer): ");
+                        int comparisonQuantum = getValidPositiveInput();
+                        ProcessTable processes = new ProcessTable(n);
+
+                        for (int i = 0; i < n; i++) {
+                            processes.add(priority[i], arrivalTime[i], burstTime[i]);
+                        }
+
+                        // Run every algorithm in parallel and print their metrics
+                        AlgorithmComparison.print(AlgorithmComparison.runAll(processes, comparisonQuantum), System.out);
+                        break;
                 }
             } catch (Exception e) {
                 System.out.println("\nAn error occurred: " + e.getMessage());
@@ -204,4 +239,4 @@ public class Scheduling {
             }
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,363 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Writes schedule results to a Writer or channel through one large character buffer.
+// Numbers and padding are formatted straight into the buffer, so a row or Gantt box costs
+// no format parsing and the underlying stream only sees a few large writes.
+//
+// With a minimum segment width, runs of consecutive Gantt boxes shorter than that are
+// collapsed into one box labelled "~<count>", which keeps huge timelines readable.
+// With boxesPerRow set, the Gantt chart wraps onto several rows of boxes.
+// By default the output matches the console format exactly.
+public class StreamingRenderer {
+    private static final int BUFFER_CHARS = 1 << 16;
+
+    private final Writer out;
+    private final long minSegmentWidth; // Boxes shorter than this are collapsed, 0 to draw every box
+    private final int boxesPerRow;      // Gantt boxes per row, 0 to draw the whole chart on one row
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private int length;                 // Characters waiting in the buffer
+
+    public StreamingRenderer(Writer out) {
+        this(out, 0, 0);
+    }
+
+    public StreamingRenderer(Writer out, long minSegmentWidth, int boxesPerRow) {
+        if (minSegmentWidth < 0 || boxesPerRow < 0) {
+            throw new IllegalArgumentException("Segment width and boxes per row must not be negative");
+        }
+        this.out = out;
+        this.minSegmentWidth = minSegmentWidth;
+        this.boxesPerRow = boxesPerRow;
+    }
+
+    // Writes UTF-8 to a channel, e.g. a FileChannel or Channels.newChannel(System.out)
+    public StreamingRenderer(WritableByteChannel channel, long minSegmentWidth, int boxesPerRow) {
+        this(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_CHARS),
+                minSegmentWidth, boxesPerRow);
+    }
+
+    // Writes the process table, computed metrics and Gantt chart of a result
+    public void render(ScheduleResult result) throws IOException {
+        ProcessTable processes = result.getProcesses();
+        if (processes.size() == 0) {
+            append("No processes to schedule!\n");
+            flush();
+            return;
+        }
+        boolean showPriority = processes.hasPriorities();
+
+        append("\nProcess Table:\n");
+        column("Process ID", 12);
+        if (showPriority) {
+            column("Priority", 10);
+        }
+        column("Arrival Time", 14);
+        column("Burst Time", 10);
+        column("Completion Time", 16);
+        column("Turnaround Time", 18);
+        lastColumn("Waiting Time", 14);
+
+        // One row per process in input order
+        for (int i = 0; i < processes.size(); i++) {
+            column(processes.processID(i), 12);
+            if (showPriority) {
+                column(processes.priority(i), 10);
+            }
+            column(processes.arrivalTime(i), 14);
+            column(processes.burstTime(i), 10);
+            column(result.getCompletionTime(i), 16);
+            column(result.getTurnaroundTime(i), 18);
+            lastColumn(result.getWaitingTime(i), 14);
+        }
+
+        append(String.format("\nAverage Waiting Time: %.2f ms\n", result.getAverageWaitingTime()));
+        append(String.format("Average Turnaround Time: %.2f ms\n", result.getAverageTurnaroundTime()));
+        append(String.format("CPU Utilization: %.2f%%\n", result.getCpuUtilization()));
+        if (result.getSwitchTime() > 0) {
+            append(String.format("Time Lost to Switching: %d ms (%.2f%%)\n", result.getSwitchTime(),
+                    result.getSwitchOverhead()));
+        }
+        renderPercentiles(result.getWaitingTimes(), result.getTurnaroundTimes(), result.getResponseTimes());
+        if (Instrumentation.ENABLED) {
+            append(String.format("\nDispatches: %d, Preemptions: %d, Idle Periods: %d\n",
+                    result.getDispatches(), result.getPreemptions(), result.getIdlePeriods()));
+            append(String.format("Max Queue Depth: %d, Decisions: %d (%.0f/s)\n",
+                    result.getMaxQueueDepth(), result.getDecisions(), result.getDecisionsPerSecond()));
+        }
+
+        renderGanttChart(result.getTimeline(), processes, result.getEndTime());
+        flush();
+    }
+
+    // Writes the metrics of a multi-core result and one Gantt chart per core
+    public void render(MultiCoreResult result) throws IOException {
+        if (result.size() == 0) {
+            append("No processes to schedule!\n");
+            flush();
+            return;
+        }
+        append("\n" + result.getAlgorithm() + ":\n");
+        append(String.format("Average Waiting Time: %.2f ms\n", result.getAverageWaitingTime()));
+        append(String.format("Average Turnaround Time: %.2f ms\n", result.getAverageTurnaroundTime()));
+        append(String.format("CPU Utilization: %.2f%%\n", result.getCpuUtilization()));
+        append(String.format("Load Imbalance: %.2f\n", result.getLoadImbalance()));
+        append(String.format("Migrations: %d, Steals: %d\n", result.getMigrations(), result.getSteals()));
+        renderPercentiles(result.getWaitingTimes(), result.getTurnaroundTimes(), result.getResponseTimes());
+
+        for (int core = 0; core < result.getCores(); core++) {
+            append("\nCore " + core);
+            renderGanttChart(result.getTimeline(core), result.getProcesses(), result.getEndTime());
+        }
+        flush();
+    }
+
+    // Writes the p50/p95/p99/max table of the latency distributions
+    private void renderPercentiles(LatencyHistogram waiting, LatencyHistogram turnaround,
+                                   LatencyHistogram response) throws IOException {
+        append("\nLatency Percentiles (ms):\n");
+        column("", 16);
+        column("p50", 10);
+        column("p95", 10);
+        column("p99", 10);
+        lastColumn("Max", 10);
+        renderPercentileRow("Waiting Time", waiting);
+        renderPercentileRow("Turnaround Time", turnaround);
+        renderPercentileRow("Response Time", response);
+    }
+
+    private void renderPercentileRow(String name, LatencyHistogram histogram) throws IOException {
+        column(name, 16);
+        column(histogram.percentile(50), 10);
+        column(histogram.percentile(95), 10);
+        column(histogram.percentile(99), 10);
+        lastColumn(histogram.max(), 10);
+    }
+
+    // Writes the Gantt chart boxes followed by the time markers, one block per row of boxes.
+    // Gaps in the timeline, and any time after its last segment up to endTime, show as idle.
+    private void renderGanttChart(Timeline timeline, ProcessTable processes, long endTime) throws IOException {
+        append("\nGantt Chart:\n");
+
+        BoxCursor cursor = new BoxCursor(timeline, endTime);
+        do {
+            // Count the row's boxes first, then walk them again for the labels and the markers
+            BoxCursor row = cursor.copy();
+            int boxes = 0;
+            while ((boxesPerRow == 0 || boxes < boxesPerRow) && cursor.next()) {
+                boxes++;
+            }
+
+            border(boxes);
+            append('|');
+            BoxCursor labels = row.copy();
+            for (int i = 0; i < boxes; i++) {
+                labels.next();
+                append(' ');
+                if (labels.count > 1) {
+                    append('~');
+                    pad(labels.count, 5);
+                } else {
+                    pad(label(labels.process, processes), 6);
+                }
+                append(" |");
+            }
+            append('\n');
+            border(boxes);
+
+            pad(row.time, 9);
+            for (int i = 0; i < boxes; i++) {
+                row.next();
+                pad(row.time, 9);
+            }
+            append('\n');
+        } while (cursor.hasNext());
+    }
+
+    // Label of a Gantt box: the process ID, "//" when idle or "CS" for a context switch
+    private static String label(int process, ProcessTable processes) {
+        switch (process) {
+            case Timeline.IDLE:
+                return "//";
+            case Timeline.SWITCH:
+                return "CS";
+            default:
+                return processes.processID(process);
+        }
+    }
+
+    private void border(int boxes) throws IOException {
+        append('+');
+        for (int i = 0; i < boxes; i++) {
+            append("--------+");
+        }
+        append('\n');
+    }
+
+    // Appends text left-justified in a field of the given width
+    private void pad(String text, int width) throws IOException {
+        append(text);
+        spaces(width - text.length());
+    }
+
+    // Appends a number left-justified in a field of the given width
+    private void pad(long value, int width) throws IOException {
+        spaces(width - appendNumber(value));
+    }
+
+    // A table column: the padded field and the space separating it from the next one
+    private void column(String text, int width) throws IOException {
+        pad(text, width);
+        append(' ');
+    }
+
+    private void column(long value, int width) throws IOException {
+        pad(value, width);
+        append(' ');
+    }
+
+    // The last column of a table row, which ends the line instead
+    private void lastColumn(String text, int width) throws IOException {
+        pad(text, width);
+        append('\n');
+    }
+
+    private void lastColumn(long value, int width) throws IOException {
+        pad(value, width);
+        append('\n');
+    }
+
+    // Writes the digits of a number into the buffer without creating a String
+    // and returns the number of characters written
+    private int appendNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            String text = Long.toString(value);
+            append(text);
+            return text.length();
+        }
+        if (length + 20 > buffer.length) {
+            drain();
+        }
+        int sign = 0;
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+            sign = 1;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return sign + digits;
+    }
+
+    private void spaces(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            append(' ');
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (length == buffer.length) {
+            drain();
+        }
+        buffer[length++] = c;
+    }
+
+    private void append(String text) throws IOException {
+        if (text.length() > buffer.length - length) {
+            drain();
+            if (text.length() > buffer.length) {
+                out.write(text);
+                return;
+            }
+        }
+        text.getChars(0, text.length(), buffer, length);
+        length += text.length();
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, length);
+        length = 0;
+    }
+
+    private void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    // Walks the boxes of a Gantt chart: the timeline's segments, idle boxes for the gaps
+    // between them, and, with a minimum width, runs of short boxes collapsed into one
+    private final class BoxCursor {
+        private final Timeline timeline;
+        private final long endTime;
+        private int segment; // Next timeline segment to draw
+        long time;           // End of the last box, i.e. where the next box starts
+        int process;         // Process of the last box, or Timeline.IDLE or Timeline.SWITCH
+        int count;           // Number of boxes collapsed into the last box
+
+        BoxCursor(Timeline timeline, long endTime) {
+            this.timeline = timeline;
+            this.endTime = endTime;
+        }
+
+        BoxCursor copy() {
+            BoxCursor copy = new BoxCursor(timeline, endTime);
+            copy.segment = segment;
+            copy.time = time;
+            return copy;
+        }
+
+        boolean hasNext() {
+            return segment < timeline.size() || time < endTime;
+        }
+
+        // Moves to the next box; returns false when the chart is complete
+        boolean next() {
+            if (!hasNext()) {
+                return false;
+            }
+            long from = time;
+            process = step();
+            count = 1;
+            if (minSegmentWidth > 0) {
+                // Keep absorbing short boxes until the box is wide enough or a wide box follows
+                while (time - from < minSegmentWidth && hasNext() && nextEnd() - time < minSegmentWidth) {
+                    step();
+                    count++;
+                }
+            }
+            return true;
+        }
+
+        // End of the raw box that starts at the current time
+        private long nextEnd() {
+            if (segment < timeline.size()) {
+                return timeline.start(segment) > time ? timeline.start(segment) : timeline.end(segment);
+            }
+            return endTime;
+        }
+
+        // Advances over one raw box (a segment or an idle gap) and returns its process
+        private int step() {
+            if (segment == timeline.size()) {
+                time = endTime;
+                return Timeline.IDLE;
+            }
+            if (timeline.start(segment) > time) {
+                time = timeline.start(segment);
+                return Timeline.IDLE;
+            }
+            time = timeline.end(segment);
+            return timeline.process(segment++);
+        }
+    }
+}
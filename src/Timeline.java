@@ -0,0 +1,71 @@
+import java.util.Arrays;
+
+// Run-length timeline of one CPU: (start, end, process index) segments kept in primitive arrays,
+// with IDLE as the index of a segment where the CPU had nothing to run and SWITCH as the index
+// of time spent switching between processes.
+// A slice that continues the previous segment (same process, starting where it ended) extends
+// that segment, so memory grows with context switches and idle periods, not with elapsed time.
+public class Timeline {
+    public static final int IDLE = -1;
+    public static final int SWITCH = -2;
+
+    private long[] start;   // Start time of each segment
+    private long[] end;     // End time of each segment
+    private int[] process;  // Row index of the process in each segment, or IDLE or SWITCH
+    private int size;       // Number of segments
+
+    public Timeline() {
+        this(16);
+    }
+
+    // Creates a timeline with room for the given number of segments before it has to grow
+    public Timeline(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.start = new long[capacity];
+        this.end = new long[capacity];
+        this.process = new int[capacity];
+    }
+
+    // Appends a slice, merging it into the last segment when it simply continues it
+    void add(int index, long from, long to) {
+        if (size > 0 && process[size - 1] == index && end[size - 1] == from) {
+            end[size - 1] = to;
+            return;
+        }
+        if (size == start.length) {
+            int capacity = size * 2;
+            start = Arrays.copyOf(start, capacity);
+            end = Arrays.copyOf(end, capacity);
+            process = Arrays.copyOf(process, capacity);
+        }
+        start[size] = from;
+        end[size] = to;
+        process[size] = index;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long start(int segment) {
+        return start[segment];
+    }
+
+    public long end(int segment) {
+        return end[segment];
+    }
+
+    // Row index of the process that ran in a segment, or IDLE or SWITCH
+    public int process(int segment) {
+        return process[segment];
+    }
+
+    public boolean isIdle(int segment) {
+        return process[segment] == IDLE;
+    }
+
+    public boolean isSwitch(int segment) {
+        return process[segment] == SWITCH;
+    }
+}
@@ -0,0 +1,304 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Loads process traces into a ProcessTable straight from memory-mapped files.
+//
+// CSV traces have one process per line: id,arrivalTime,burstTime[,priority].
+// Blank lines and lines starting with '#' are skipped, and a first line whose
+// arrival time is not a number is treated as a header.
+//
+// Binary traces start with the magic "SCHT", an int version and a long record count,
+// followed by 16-byte records of little-endian ints: id, arrivalTime, burstTime, priority.
+//
+// Numbers are parsed directly from the mapped bytes. IDs are only turned into
+// Strings when requested; otherwise processes get IDs generated from their row.
+public class TraceLoader {
+    private static final int MAGIC = 0x54484353; // "SCHT" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    private static final int WINDOW_BYTES = 1 << 28; // Files are mapped 256 MB at a time
+
+    private TraceLoader() {
+    }
+
+    // Loads a trace, choosing the format from the file extension (.csv or binary)
+    public static ProcessTable load(Path path) throws IOException {
+        return path.toString().toLowerCase().endsWith(".csv") ? loadCsv(path, false) : loadBinary(path, false);
+    }
+
+    // Loads a CSV trace; keepProcessIDs copies the id column into the table as Strings
+    public static ProcessTable loadCsv(Path path, boolean keepProcessIDs) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ProcessTable processes = new ProcessTable((int) Math.min(size / 16 + 16, 1 << 22)); // ~16 bytes per line
+            CsvParser parser = new CsvParser(processes, keepProcessIDs);
+
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW_BYTES, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                // Only whole lines are consumed; the next window starts at the first unfinished one
+                int consumed = parser.parse(window, lastWindow);
+                if (consumed == 0) {
+                    throw new IOException("Line " + (parser.lineNumber + 1) + " is longer than "
+                            + WINDOW_BYTES + " bytes");
+                }
+                position += consumed;
+            }
+            return processes;
+        }
+    }
+
+    // Loads a binary trace; keepProcessIDs stores each record's id as the process ID
+    public static ProcessTable loadBinary(Path path, boolean keepProcessIDs) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a binary trace");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported trace version " + version);
+            }
+            long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE - 8
+                    || HEADER_BYTES + count * RECORD_BYTES > channel.size()) {
+                throw new IOException("Trace header claims " + count + " records, file is "
+                        + channel.size() + " bytes");
+            }
+
+            ProcessTable processes = new ProcessTable((int) count);
+            long recordsPerWindow = WINDOW_BYTES / RECORD_BYTES;
+            for (long first = 0; first < count; first += recordsPerWindow) {
+                long records = Math.min(recordsPerWindow, count - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * RECORD_BYTES, records * RECORD_BYTES);
+                window.order(ByteOrder.LITTLE_ENDIAN);
+
+                for (long r = 0; r < records; r++) {
+                    int id = window.getInt();
+                    int arrivalTime = window.getInt();
+                    int burstTime = window.getInt();
+                    int priority = window.getInt();
+                    if (arrivalTime < 0 || burstTime <= 0) {
+                        throw new IOException("Invalid times in trace record " + (first + r));
+                    }
+                    if (keepProcessIDs) {
+                        processes.add(String.valueOf(id), priority, arrivalTime, burstTime);
+                    } else {
+                        processes.add(priority, arrivalTime, burstTime);
+                    }
+                }
+            }
+            return processes;
+        }
+    }
+
+    // Writes a table as a binary trace, using each row index as the record id
+    public static void writeBinary(ProcessTable processes, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(processes.size());
+
+            for (int i = 0; i < processes.size(); i++) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(i)
+                        .putInt(processes.arrivalTime(i))
+                        .putInt(processes.burstTime(i))
+                        .putInt(processes.priority(i));
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Parses CSV lines from mapped windows into a table, keeping its place between windows
+    private static final class CsvParser {
+        private final ProcessTable processes;
+        private final boolean keepProcessIDs;
+        private int lineNumber;          // Lines seen so far, for error messages
+        private boolean seenFirstLine;   // Whether the possible header line has been checked
+        private byte[] idBytes = new byte[64]; // Scratch copy of the id field when IDs are kept
+
+        CsvParser(ProcessTable processes, boolean keepProcessIDs) {
+            this.processes = processes;
+            this.keepProcessIDs = keepProcessIDs;
+        }
+
+        // Parses every complete line in the window and returns the number of bytes consumed
+        int parse(ByteBuffer window, boolean lastWindow) throws IOException {
+            int limit = window.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && window.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd == limit && !lastWindow) {
+                    break; // The line continues in the next window
+                }
+                parseLine(window, lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+            }
+            return Math.min(lineStart, limit);
+        }
+
+        private void parseLine(ByteBuffer line, int start, int end) throws IOException {
+            lineNumber++;
+            if (end > start && line.get(end - 1) == '\r') {
+                end--;
+            }
+            start = skipSpaces(line, start, end);
+            if (start == end || line.get(start) == '#') {
+                return;
+            }
+
+            int idEnd = fieldEnd(line, start, end);
+            int arrivalEnd = fieldEnd(line, idEnd + 1, end);
+            if (idEnd == end || arrivalEnd == end) {
+                throw malformed("expected id,arrivalTime,burstTime[,priority]");
+            }
+
+            // A first line whose arrival time is not a number is a header
+            boolean firstLine = !seenFirstLine;
+            seenFirstLine = true;
+            if (firstLine && !isNumber(line, idEnd + 1, arrivalEnd)) {
+                return;
+            }
+
+            int arrivalTime = parseInt(line, idEnd + 1, arrivalEnd);
+            int burstEnd = fieldEnd(line, arrivalEnd + 1, end);
+            int burstTime = parseInt(line, arrivalEnd + 1, burstEnd);
+            if (arrivalTime < 0 || burstTime <= 0) {
+                throw malformed("arrival time must not be negative and burst time must be positive");
+            }
+            String processID = keepProcessIDs ? copyField(line, start, idEnd) : null;
+
+            if (burstEnd < end) {
+                int priorityEnd = fieldEnd(line, burstEnd + 1, end);
+                if (priorityEnd < end) {
+                    throw malformed("expected id,arrivalTime,burstTime[,priority]");
+                }
+                int priority = parseInt(line, burstEnd + 1, priorityEnd);
+                if (processID != null) {
+                    processes.add(processID, priority, arrivalTime, burstTime);
+                } else {
+                    processes.add(priority, arrivalTime, burstTime);
+                }
+            } else if (processID != null) {
+                processes.add(processID, arrivalTime, burstTime);
+            } else {
+                processes.add(arrivalTime, burstTime);
+            }
+        }
+
+        // Returns the position of the comma ending the field that starts at 'from', or 'end'
+        private static int fieldEnd(ByteBuffer line, int from, int end) {
+            int i = from;
+            while (i < end && line.get(i) != ',') {
+                i++;
+            }
+            return i;
+        }
+
+        private static int skipSpaces(ByteBuffer line, int from, int end) {
+            while (from < end && (line.get(from) == ' ' || line.get(from) == '\t')) {
+                from++;
+            }
+            return from;
+        }
+
+        private static int trimEnd(ByteBuffer line, int from, int end) {
+            while (end > from && (line.get(end - 1) == ' ' || line.get(end - 1) == '\t')) {
+                end--;
+            }
+            return end;
+        }
+
+        private static boolean isNumber(ByteBuffer line, int from, int to) {
+            from = skipSpaces(line, from, to);
+            to = trimEnd(line, from, to);
+            if (from < to && line.get(from) == '-') {
+                from++;
+            }
+            if (from == to) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                if (line.get(i) < '0' || line.get(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Parses a decimal int from the bytes between two positions, ignoring surrounding spaces
+        private int parseInt(ByteBuffer line, int from, int to) throws IOException {
+            from = skipSpaces(line, from, to);
+            to = trimEnd(line, from, to);
+            boolean negative = from < to && line.get(from) == '-';
+            if (negative) {
+                from++;
+            }
+            if (from == to) {
+                throw malformed("missing number");
+            }
+
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = line.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw malformed("'" + (char) line.get(i) + "' is not a digit");
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw malformed("number out of range");
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw malformed("number out of range");
+            }
+            return (int) value;
+        }
+
+        private String copyField(ByteBuffer line, int from, int to) {
+            to = trimEnd(line, from, to);
+            int length = to - from;
+            if (idBytes.length < length) {
+                idBytes = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                idBytes[i] = line.get(from + i);
+            }
+            return new String(idBytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private IOException malformed(String reason) {
+            return new IOException("Malformed trace line " + lineNumber + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+import java.util.SplittableRandom;
+
+// Seeded synthetic workload that produces processes one at a time, in arrival order.
+//
+// Arrivals, burst times and priorities each come from a distribution chosen with the static
+// factories below, e.g.
+//     new WorkloadGenerator(42, WorkloadGenerator.poisson(0.1), WorkloadGenerator.pareto(1.5, 2),
+//                           WorkloadGenerator.uniformPriorities(0, 139))
+// The generator keeps only the current process, so feed() can push any number of processes
+// through an OnlineScheduler in constant memory. The same seed always gives the same workload.
+public class WorkloadGenerator {
+    // Times between arrivals, and how many processes arrive together
+    public interface Arrivals {
+        // Time from the previous arrival to the next one
+        double gap(SplittableRandom random);
+
+        // Number of processes arriving at the same time, at least 1
+        int groupSize(SplittableRandom random);
+    }
+
+    // CPU time each process needs; always at least 1
+    public interface Bursts {
+        int next(SplittableRandom random);
+    }
+
+    // Priority of each process (lower value means higher priority)
+    public interface Priorities {
+        int next(SplittableRandom random);
+    }
+
+    // Receives generated processes without creating an object per process
+    public interface ProcessConsumer {
+        void accept(int priority, long arrivalTime, int burstTime);
+    }
+
+    private final SplittableRandom random;
+    private final Arrivals arrivals;
+    private final Bursts bursts;
+    private final Priorities priorities; // null when processes have no priority
+
+    private double clock;        // Arrival time of the current group, before rounding down
+    private int groupLeft;       // Processes still to arrive at the current group's time
+    private long generated;      // Processes generated so far
+
+    // Current process
+    private long arrivalTime;
+    private int burstTime;
+    private int priority;
+
+    // Creates a generator for processes without priorities
+    public WorkloadGenerator(long seed, Arrivals arrivals, Bursts bursts) {
+        this(seed, arrivals, bursts, null);
+    }
+
+    public WorkloadGenerator(long seed, Arrivals arrivals, Bursts bursts, Priorities priorities) {
+        this.random = new SplittableRandom(seed);
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+        this.priorities = priorities;
+    }
+
+    // Moves on to the next process; its attributes are read with the getters below
+    public void next() {
+        if (groupLeft == 0) {
+            clock += arrivals.gap(random);
+            groupLeft = arrivals.groupSize(random);
+        }
+        groupLeft--;
+        arrivalTime = (long) clock;
+        burstTime = bursts.next(random);
+        priority = priorities == null ? 0 : priorities.next(random);
+        generated++;
+    }
+
+    public long arrivalTime() {
+        return arrivalTime;
+    }
+
+    public int burstTime() {
+        return burstTime;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    public boolean hasPriorities() {
+        return priorities != null;
+    }
+
+    // Number of processes generated so far
+    public long generated() {
+        return generated;
+    }
+
+    // Generates the given number of processes and hands each one to the consumer
+    public void forEach(long count, ProcessConsumer consumer) {
+        for (long i = 0; i < count; i++) {
+            next();
+            consumer.accept(priority, arrivalTime, burstTime);
+        }
+    }
+
+    // Generates the given number of processes into a ProcessTable, for the batch schedulers
+    public ProcessTable toTable(int count) {
+        ProcessTable processes = new ProcessTable(count);
+        for (int i = 0; i < count; i++) {
+            next();
+            if (arrivalTime > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arrival time " + arrivalTime + " does not fit in a ProcessTable");
+            }
+            if (priorities == null) {
+                processes.add((int) arrivalTime, burstTime);
+            } else {
+                processes.add(priority, (int) arrivalTime, burstTime);
+            }
+        }
+        return processes;
+    }
+
+    // Submits the given number of processes to an online scheduler as they arrive, then runs it
+    // until every process has finished. Completed processes are drained and dropped along the way,
+    // so memory stays constant; the results are in the scheduler's latency histograms.
+    public void feed(OnlineScheduler scheduler, long count) {
+        long outstandingWork = 0; // Burst time of the submitted processes that have not finished
+        for (long i = 0; i < count; i++) {
+            next();
+            scheduler.advanceTo(arrivalTime);
+            scheduler.submit(priority, arrivalTime, burstTime);
+            outstandingWork += burstTime;
+            if ((i & 4095) == 4095) {
+                outstandingWork -= drain(scheduler);
+            }
+        }
+        outstandingWork -= drain(scheduler);
+
+        // Every process has arrived and the CPU never idles while work is waiting, but context
+        // switches take time too, so the rest may need longer than the outstanding work. Each
+        // step still gets some of it done, so keep going until nothing is left.
+        while (scheduler.inFlight() > 0) {
+            scheduler.advanceTo(scheduler.currentTime() + Math.max(1, outstandingWork));
+            outstandingWork -= drain(scheduler);
+        }
+    }
+
+    // Drops the completed processes and returns their total burst time
+    private static long drain(OnlineScheduler scheduler) {
+        long work = 0;
+        for (CompletedJob job : scheduler.drainCompleted()) {
+            work += job.getBurstTime();
+        }
+        return work;
+    }
+
+    // Poisson arrivals: independent, exponentially distributed gaps with the given mean rate per time unit
+    public static Arrivals poisson(double rate) {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + rate);
+        }
+        return new Arrivals() {
+            @Override
+            public double gap(SplittableRandom random) {
+                return exponentialSample(random, 1 / rate);
+            }
+
+            @Override
+            public int groupSize(SplittableRandom random) {
+                return 1;
+            }
+        };
+    }
+
+    // Bursty arrivals: groups arrive as a Poisson process with the given rate, and each group holds
+    // a geometrically distributed number of processes with the given mean
+    public static Arrivals bursty(double groupRate, double meanGroupSize) {
+        if (!(groupRate > 0) || !(meanGroupSize >= 1)) {
+            throw new IllegalArgumentException("Invalid bursty arrivals: rate " + groupRate
+                    + ", mean group size " + meanGroupSize);
+        }
+        double continueProbability = 1 - 1 / meanGroupSize;
+        return new Arrivals() {
+            @Override
+            public double gap(SplittableRandom random) {
+                return exponentialSample(random, 1 / groupRate);
+            }
+
+            @Override
+            public int groupSize(SplittableRandom random) {
+                int size = 1;
+                while (size < Integer.MAX_VALUE && random.nextDouble() < continueProbability) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    // Exponentially distributed bursts with the given mean
+    public static Bursts exponential(double mean) {
+        if (!(mean > 0)) {
+            throw new IllegalArgumentException("Mean burst time must be positive: " + mean);
+        }
+        return random -> toBurst(exponentialSample(random, mean));
+    }
+
+    // Heavy-tailed Pareto bursts: at least minimum, with tail index alpha (smaller is heavier)
+    public static Bursts pareto(double alpha, double minimum) {
+        if (!(alpha > 0) || !(minimum > 0)) {
+            throw new IllegalArgumentException("Invalid Pareto bursts: alpha " + alpha + ", minimum " + minimum);
+        }
+        return random -> toBurst(minimum / Math.pow(1 - random.nextDouble(), 1 / alpha));
+    }
+
+    // Mix of short and long jobs: exponential bursts with mean longMean for a longFraction of
+    // the processes and mean shortMean for the others
+    public static Bursts bimodal(double shortMean, double longMean, double longFraction) {
+        if (!(shortMean > 0) || !(longMean > 0) || !(longFraction >= 0 && longFraction <= 1)) {
+            throw new IllegalArgumentException("Invalid bimodal bursts: " + shortMean + ", " + longMean
+                    + ", " + longFraction);
+        }
+        return random -> toBurst(exponentialSample(random,
+                random.nextDouble() < longFraction ? longMean : shortMean));
+    }
+
+    // Priorities spread evenly over min .. max
+    public static Priorities uniformPriorities(int min, int max) {
+        if (max < min) {
+            throw new IllegalArgumentException("Invalid priority range " + min + ".." + max);
+        }
+        return random -> min + (int) random.nextLong(max - min + 1L);
+    }
+
+    // Priority p is drawn with probability weights[p] / sum of weights
+    public static Priorities weightedPriorities(double... weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int p = 0; p < weights.length; p++) {
+            if (!(weights[p] >= 0)) {
+                throw new IllegalArgumentException("Priority weights must not be negative: " + weights[p]);
+            }
+            total += weights[p];
+            cumulative[p] = total;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("At least one priority weight must be positive");
+        }
+        double sum = total;
+        return random -> {
+            double u = random.nextDouble() * sum;
+            for (int p = 0; p < cumulative.length; p++) {
+                if (u < cumulative[p]) {
+                    return p;
+                }
+            }
+            return cumulative.length - 1;
+        };
+    }
+
+    private static double exponentialSample(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    // Rounds a sampled burst up to a whole time unit, within 1 .. Integer.MAX_VALUE
+    private static int toBurst(double value) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(value)));
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Checks of the multi-core simulator against the single-CPU schedulers.
+// Run with: javac -d bin src/*.java test/*.java && java -cp bin MultiCoreSchedulerTest
+public class MultiCoreSchedulerTest {
+    private static final String[] ALGORITHMS = {"fcfs", "sjf", "srtf", "npp", "pp", "rr"};
+
+    public static void main(String[] args) {
+        oneCoreMatchesBatch();
+        equalPriorityArrivalWithLowerIdPreempts();
+        System.out.println("MultiCoreSchedulerTest passed");
+    }
+
+    // On one core every mode schedules like the batch scheduler of the same algorithm. Rows are not
+    // in arrival order and IDs are shuffled, and few distinct priorities make most decisions ties.
+    private static void oneCoreMatchesBatch() {
+        Random random = new Random(13);
+        for (int run = 0; run < 1000; run++) {
+            int n = 1 + random.nextInt(30);
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                ids.add("P" + i);
+            }
+            Collections.shuffle(ids, random);
+            ProcessTable processes = new ProcessTable();
+            for (int i = 0; i < n; i++) {
+                processes.add(ids.get(i), random.nextInt(2), random.nextInt(40), 1 + random.nextInt(8));
+            }
+            int quantum = 1 + random.nextInt(4);
+            for (String name : ALGORITHMS) {
+                ScheduleResult batch = Algorithms.create(name, quantum).schedule(processes);
+                for (MultiCoreScheduler.Mode mode : MultiCoreScheduler.Mode.values()) {
+                    MultiCoreResult multi = MultiCoreScheduler.create(name, quantum, 1, mode).schedule(processes);
+                    for (int i = 0; i < n; i++) {
+                        check(multi.getCompletionTime(i) == batch.getCompletionTime(i), name + " " + mode
+                                + ": process " + ids.get(i) + " completes at " + multi.getCompletionTime(i)
+                                + ", batch at " + batch.getCompletionTime(i));
+                    }
+                }
+            }
+        }
+    }
+
+    // Preemptive priority breaks ties by process ID, so an arrival of equal priority and lower ID
+    // takes the core, on every core count, as PreemptivePriorityClass decides
+    private static void equalPriorityArrivalWithLowerIdPreempts() {
+        ProcessTable processes = new ProcessTable();
+        processes.add("B", 1, 0, 10);
+        processes.add("A", 1, 2, 3);
+        check(new PreemptivePriorityClass().schedule(processes).getCompletionTime(1) == 5, "batch preempts B");
+        for (MultiCoreScheduler.Mode mode : MultiCoreScheduler.Mode.values()) {
+            MultiCoreResult multi = MultiCoreScheduler.create("pp", 0, 1, mode).schedule(processes);
+            check(multi.getCompletionTime(1) == 5 && multi.getCompletionTime(0) == 13,
+                    mode + ": A preempts B at time 2, got A " + multi.getCompletionTime(1) + ", B "
+                    + multi.getCompletionTime(0));
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
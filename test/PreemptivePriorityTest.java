@@ -0,0 +1,93 @@
+import java.util.Random;
+
+// Checks of the preemptive priority scheduler and its online mode.
+// Run with: javac -d bin src/*.java test/*.java && java -cp bin PreemptivePriorityTest
+public class PreemptivePriorityTest {
+    public static void main(String[] args) {
+        agingDoesNotThrash();
+        onlineMatchesBatchOnEqualPriorities();
+        onlineBreaksTiesBySubmission();
+        System.out.println("PreemptivePriorityTest passed");
+    }
+
+    // Two equal-priority processes used to swap the CPU at every time unit once aging was on.
+    // A waiting process now gains a level only per agingInterval waited, so they take turns in
+    // slices of about agingInterval, and an interval longer than the bursts changes nothing.
+    private static void agingDoesNotThrash() {
+        ProcessTable processes = new ProcessTable();
+        processes.add(1, 0, 1000);
+        processes.add(1, 0, 1000);
+
+        ScheduleResult plain = new PreemptivePriorityClass(2, 0).schedule(processes);
+        check(plain.getContextSwitches() == 1, "1 switch without aging, got " + plain.getContextSwitches());
+        check(plain.getEndTime() == 2002, "end 2002 without aging, got " + plain.getEndTime());
+
+        ScheduleResult slow = new PreemptivePriorityClass(2, 1000).schedule(processes);
+        check(slow.getContextSwitches() == 1, "1 switch with aging 1000, got " + slow.getContextSwitches());
+        check(slow.getEndTime() == 2002, "end 2002 with aging 1000, got " + slow.getEndTime());
+        checkOnline(new PreemptivePriorityClass(2, 1000), processes, slow);
+
+        ScheduleResult fast = new PreemptivePriorityClass(2, 10).schedule(processes);
+        check(fast.getContextSwitches() == 125, "125 switches with aging 10, got " + fast.getContextSwitches());
+        check(fast.getEndTime() == 2000 + 2 * 125, "end 2250 with aging 10, got " + fast.getEndTime());
+        checkOnline(new PreemptivePriorityClass(2, 10), processes, fast);
+    }
+
+    // Random workloads with few distinct priorities, so most decisions are ties. Rows are in arrival
+    // order with generated IDs, so submission order and ID order agree and the results must match.
+    private static void onlineMatchesBatchOnEqualPriorities() {
+        Random random = new Random(20);
+        for (int run = 0; run < 2000; run++) {
+            int n = 1 + random.nextInt(30);
+            ProcessTable processes = new ProcessTable();
+            int arrival = 0;
+            for (int i = 0; i < n; i++) {
+                arrival += random.nextInt(4);
+                processes.add(random.nextInt(2), arrival, 1 + random.nextInt(8));
+            }
+            int switchCost = random.nextInt(3);
+            int agingInterval = run % 3 == 0 ? 1 + random.nextInt(10) : 0;
+            PreemptivePriorityClass scheduler = new PreemptivePriorityClass(switchCost, agingInterval);
+            checkOnline(scheduler, processes, scheduler.schedule(processes));
+        }
+    }
+
+    // Equal priorities go to the lower process ID in batch but to the earlier submission online,
+    // as the OnlineSimulator comment says. Here B is submitted first but A has the lower ID.
+    private static void onlineBreaksTiesBySubmission() {
+        ProcessTable processes = new ProcessTable();
+        processes.add("B", 1, 0, 4);
+        processes.add("A", 1, 0, 4);
+        ScheduleResult batch = new PreemptivePriorityClass().schedule(processes);
+        check(batch.getCompletionTime(1) == 4, "batch runs A first, got " + batch.getCompletionTime(1));
+
+        OnlineScheduler online = new PreemptivePriorityClass().online();
+        online.submit(0, 1, 0, 4);
+        online.submit(1, 1, 0, 4);
+        online.advanceTo(8);
+        CompletedJob first = online.drainCompleted().get(0);
+        check(first.getJobID() == 0 && first.getCompletionTime() == 4, "online runs B first");
+    }
+
+    // Submits the processes in row order to the online mode and compares the completion times
+    private static void checkOnline(Scheduler scheduler, ProcessTable processes, ScheduleResult expected) {
+        OnlineScheduler online = scheduler.online();
+        for (int i = 0; i < processes.size(); i++) {
+            online.submit(i, processes.priority(i), processes.arrivalTime(i), processes.burstTime(i));
+        }
+        online.advanceTo(expected.getEndTime());
+        check(online.inFlight() == 0, scheduler.getName() + ": online jobs left " + online.inFlight());
+        for (CompletedJob job : online.drainCompleted()) {
+            int i = (int) job.getJobID();
+            check(job.getCompletionTime() == expected.getCompletionTime(i), scheduler.getName() + ": process "
+                    + i + " completes online at " + job.getCompletionTime() + ", batch at "
+                    + expected.getCompletionTime(i));
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
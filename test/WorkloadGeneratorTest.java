@@ -0,0 +1,28 @@
+// Checks of the synthetic workload generator.
+// Run with: javac -d bin src/*.java test/*.java && java -cp bin WorkloadGeneratorTest
+public class WorkloadGeneratorTest {
+    public static void main(String[] args) {
+        feedFinishesEveryProcess(OnlineSimulator.roundRobin(2));
+        // Switches take CPU time, so the work left after the last arrival takes longer than its bursts
+        feedFinishesEveryProcess(OnlineSimulator.roundRobin(2, 2, 2));
+        feedFinishesEveryProcess(OnlineSimulator.srtf(5));
+        feedFinishesEveryProcess(OnlineSimulator.priority(true, 3, 20));
+        System.out.println("WorkloadGeneratorTest passed");
+    }
+
+    // feed() returns only once every submitted process has completed
+    private static void feedFinishesEveryProcess(OnlineScheduler scheduler) {
+        WorkloadGenerator generator = new WorkloadGenerator(42, WorkloadGenerator.poisson(0.5),
+                WorkloadGenerator.exponential(4), WorkloadGenerator.uniformPriorities(0, 9));
+        generator.feed(scheduler, 10000);
+        check(scheduler.inFlight() == 0, "processes left in flight: " + scheduler.inFlight());
+        check(scheduler.turnaroundTimes().count() == 10000,
+                "completed " + scheduler.turnaroundTimes().count() + " of 10000");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}